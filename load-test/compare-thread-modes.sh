@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Сравнение пропускной способности и p99 для платформенных и виртуальных потоков.
+# Нужен запущенный Postgres: docker compose up -d
+# Размер пула соединений и время ожидания соединения одинаковые в обоих запусках,
+# иначе сравниваются настройки пула, а не потоки
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+CONCURRENCY="${CONCURRENCY:-200}"
+DURATION_SECONDS="${DURATION_SECONDS:-30}"
+POOL_SIZE="${POOL_SIZE:-30}"
+POOL_TIMEOUT_MS="${POOL_TIMEOUT_MS:-3000}"
+
+mvn -B -q -DskipTests package
+
+for profile in default virtual; do
+  java -jar target/application.jar --spring.profiles.active="$profile" \
+    --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+    --spring.datasource.hikari.minimum-idle="$POOL_SIZE" \
+    --spring.datasource.hikari.connection-timeout="$POOL_TIMEOUT_MS" > "target/load-$profile.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+  until curl -s -o /dev/null "$BASE_URL/api-docs/api-docs"; do
+    sleep 1
+  done
+
+  mvn -B -q -Pload-test test -Dtest=ThreadModeLoadTest -Dsurefire.failIfNoSpecifiedTests=false \
+    -Dloadtest.base-url="$BASE_URL" -Dloadtest.label="$profile" \
+    -Dloadtest.concurrency="$CONCURRENCY" -Dloadtest.duration-seconds="$DURATION_SECONDS"
+
+  kill "$APP_PID"
+  wait "$APP_PID" 2>/dev/null || true
+done
@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Сквозной нагрузочный тест на встроенном Postgres, docker не нужен.
+# Размер данных и нагрузки задается переменными окружения.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+mvn -B -q -Pload-test test -Dtest=EndToEndLoadTest -Dsurefire.failIfNoSpecifiedTests=false \
+  -Dloadtest.users="${USERS:-1000}" \
+  -Dloadtest.cards-per-user="${CARDS_PER_USER:-3}" \
+  -Dloadtest.transactions="${TRANSACTIONS:-20000}" \
+  -Dloadtest.signed-in-users="${SIGNED_IN_USERS:-100}" \
+  -Dloadtest.concurrency="${CONCURRENCY:-50}" \
+  -Dloadtest.duration-seconds="${DURATION_SECONDS:-30}"
@@ -0,0 +1,68 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.util.CardNumberUtil;
+import com.example.bankcards.util.SecureRandomCardNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки операций с номером карты
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardNumberUtilBenchmark {
+    private CardNumberUtil cardNumberUtil;
+    private CardNumberUtil luhnCardNumberUtil;
+    private String cardNumber;
+    private String encryptedCardNumber;
+
+    @Setup
+    public void setUp() {
+        cardNumberUtil = new CardNumberUtil(new SecureRandomCardNumberGenerator());
+        luhnCardNumberUtil = new CardNumberUtil(new SecureRandomCardNumberGenerator());
+        ReflectionTestUtils.setField(luhnCardNumberUtil, "luhnCheck", true);
+        cardNumber = "4539578763621486";
+        encryptedCardNumber = cardNumberUtil.encryptCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cardNumberUtil.generateCardNumber();
+    }
+
+    @Benchmark
+    public String mask() {
+        return cardNumberUtil.maskCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return cardNumberUtil.encryptCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return cardNumberUtil.decryptCardNumber(encryptedCardNumber);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return cardNumberUtil.validateCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public boolean validateLuhn() {
+        return luhnCardNumberUtil.validateCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public String maskLuhn() {
+        return luhnCardNumberUtil.maskCardNumber(cardNumber);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки генерации и разбора JWT
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    private static final String SIGNING_KEY = "53A73E5F1C4E0A2D3B5F2D784E6AGG423D6F247D1F6E5C3A596D635A75327855";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSigningKey", SIGNING_KEY);
+        user = User.builder()
+                .id(1L)
+                .username("user1")
+                .email("ivan.ivanov@example.com")
+                .role(Role.ROLE_USER)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String parse() {
+        return jwtService.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.dto.response.UserResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.entity.enums.TransactionStatus;
+import com.example.bankcards.mapper.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки MapStruct мэпперов и PageResponse.of на странице из 100 элементов
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private CardMapper cardMapper;
+    private TransactionMapper transactionMapper;
+    private UserMapper userMapper;
+
+    private Card card;
+    private Transaction transaction;
+    private User user;
+    private Page<Card> cardPage;
+    private Page<Transaction> transactionPage;
+    private Page<CardResponse> cardResponsePage;
+
+    @Setup
+    public void setUp() {
+        cardMapper = new CardMapperImpl();
+        transactionMapper = new TransactionMapperImpl();
+        userMapper = new UserMapperImpl();
+
+        user = User.builder()
+                .id(1L)
+                .username("user1")
+                .email("ivan.ivanov@example.com")
+                .password("encodedPassword")
+                .role(Role.ROLE_USER)
+                .build();
+
+        List<Card> cards = new ArrayList<>(PAGE_SIZE);
+        List<Transaction> transactions = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            Card pageCard = Card.builder()
+                    .id(i)
+                    .encryptedCardNumber("NDI3NjEyMzQ1Njc4MTIzNA==")
+                    .maskedNumber("**** **** **** 1234")
+                    .cardHolder("IVAN IVANOV")
+                    .expirationDate(LocalDate.of(2028, 10, 31))
+                    .status(CardStatus.ACTIVE)
+                    .balance(new BigDecimal("1500.75"))
+                    .owner(user)
+                    .build();
+            cards.add(pageCard);
+            transactions.add(Transaction.builder()
+                    .id(i)
+                    .fromCard(pageCard)
+                    .toCard(pageCard)
+                    .amount(new BigDecimal("100.50"))
+                    .transactionDate(LocalDateTime.of(2024, 1, 15, 14, 30))
+                    .status(TransactionStatus.COMPLETED)
+                    .description("Перевод за услуги")
+                    .build());
+        }
+        card = cards.get(0);
+        transaction = transactions.get(0);
+
+        PageRequest pageable = PageRequest.of(0, PAGE_SIZE);
+        cardPage = new PageImpl<>(cards, pageable, 1000);
+        transactionPage = new PageImpl<>(transactions, pageable, 1000);
+        cardResponsePage = new PageImpl<>(cards.stream().map(cardMapper::toResponse).toList(), pageable, 1000);
+    }
+
+    @Benchmark
+    public CardResponse cardToResponse() {
+        return cardMapper.toResponse(card);
+    }
+
+    @Benchmark
+    public TransactionResponse transactionToResponse() {
+        return transactionMapper.toResponse(transaction);
+    }
+
+    @Benchmark
+    public UserResponse userToResponse() {
+        return userMapper.toResponse(user);
+    }
+
+    @Benchmark
+    public PageResponse<CardResponse> cardPageToResponse() {
+        return cardMapper.toPageResponse(cardPage);
+    }
+
+    @Benchmark
+    public PageResponse<TransactionResponse> transactionPageToResponse() {
+        return transactionMapper.toPageResponse(transactionPage);
+    }
+
+    @Benchmark
+    public PageResponse<CardResponse> pageResponseOf() {
+        return PageResponse.of(cardResponsePage);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.TransactionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Сериализация страниц из 100 карт и транзакций тем же Jackson, что в приложении: без сжатия
+ * и с gzip как при server.compression. Размер ответа в байтах печатается при запуске
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<CardResponse> cardPage;
+    private PageResponse<TransactionResponse> transactionPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<CardResponse> cards = new ArrayList<>(PAGE_SIZE);
+        List<TransactionResponse> transactions = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            cards.add(new CardResponse(i, "**** **** **** " + (1000 + i), "IVAN IVANOV",
+                    LocalDate.of(2028, 10, 31), CardStatus.ACTIVE, new BigDecimal("1500.75").add(BigDecimal.valueOf(i))));
+            transactions.add(new TransactionResponse(i, i, i + 1, new BigDecimal("100.50"),
+                    LocalDateTime.of(2024, 1, 15, 14, 30).plusMinutes(i), TransactionStatus.COMPLETED,
+                    "Перевод за услуги"));
+        }
+        cardPage = new PageResponse<>(cards, 0, 10, 1000, PAGE_SIZE);
+        transactionPage = new PageResponse<>(transactions, 0, 10, 1000, PAGE_SIZE);
+
+        System.out.printf("%nBytes per page of %d: cards json=%d gzip=%d, transactions json=%d gzip=%d%n", PAGE_SIZE,
+                cardPageJson().length, cardPageGzip().length, transactionPageJson().length,
+                transactionPageGzip().length);
+    }
+
+    @Benchmark
+    public byte[] cardPageJson() throws IOException {
+        return objectMapper.writeValueAsBytes(cardPage);
+    }
+
+    @Benchmark
+    public byte[] cardPageGzip() throws IOException {
+        return gzip(cardPage);
+    }
+
+    @Benchmark
+    public byte[] transactionPageJson() throws IOException {
+        return objectMapper.writeValueAsBytes(transactionPage);
+    }
+
+    @Benchmark
+    public byte[] transactionPageGzip() throws IOException {
+        return gzip(transactionPage);
+    }
+
+    private byte[] gzip(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.integration.BankApiClient;
+import com.example.bankcards.util.CardNumberUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сквозной нагрузочный тест: приложение на случайном порту, встроенный Postgres,
+ * синтетические пользователи, карты и транзакции, смешанная нагрузка через HTTP.
+ * В отчете пропускная способность, p50/p99 по сценариям и число SQL запросов по эндпоинтам.
+ * Функциональные проверки живут в интеграционных тестах, здесь только отсутствие ошибок под нагрузкой
+ */
+@DisplayName("Сквозной нагрузочный тест")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"auth.rate-limit.enabled=false", "reconciliation.enabled=false",
+                "reconciliation.settle-seconds=0"})
+class EndToEndLoadTest {
+    private static final String PASSWORD = "load-password";
+    private static final String TRANSFER_JSON = "{\"fromCardId\":%d,\"toCardId\":%d,\"amount\":0.01}";
+
+    private static EmbeddedPostgres postgres;
+
+    private final int users = Integer.getInteger("loadtest.users", 1_000);
+    private final int cardsPerUser = Math.max(2, Integer.getInteger("loadtest.cards-per-user", 3));
+    private final int transactions = Integer.getInteger("loadtest.transactions", 20_000);
+    private final int signedInUsers = Integer.getInteger("loadtest.signed-in-users", 100);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 50);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CardNumberUtil cardNumberUtil;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DisplayName("Смешанная нагрузка: вход, карты, переводы, история")
+    @Test
+    void mixedWorkload() throws Exception {
+        List<LoadTestDataSeeder.SeededUser> seeded = new LoadTestDataSeeder(jdbcTemplate, cardNumberUtil)
+                .seed(users, cardsPerUser, transactions, passwordEncoder.encode(PASSWORD));
+
+        BankApiClient client = new BankApiClient("http://localhost:" + port);
+        Map<String, String> eTags = new ConcurrentHashMap<>();
+        List<Session> sessions = new ArrayList<>(signedInUsers);
+        for (LoadTestDataSeeder.SeededUser user : seeded.subList(0, Math.min(signedInUsers, seeded.size()))) {
+            sessions.add(new Session(user, client.signIn(user.username(), PASSWORD)));
+        }
+        // У половины вошедших пользователей карты с полосами баланса: зачисления идут в полосы, списания их сворачивают
+        for (Session session : sessions.subList(0, sessions.size() / 2)) {
+            jdbcTemplate.update("UPDATE cards SET balance_striped = TRUE WHERE owner_id = ?", session.user().id());
+        }
+        // Запись через JDBC мимо Hibernate, кэш второго уровня о ней не знает
+        entityManagerFactory.getCache().evict(Card.class);
+        meterRegistry.find("bank.http.sql.statements").meters().forEach(meterRegistry::remove);
+
+        List<LoadGenerator.Report> reports = LoadGenerator.runMix(concurrency, duration, List.of(
+                new LoadGenerator.Scenario("POST sign-in", 1, () -> {
+                    LoadTestDataSeeder.SeededUser user = seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+                    return client.signInStatus(user.username(), PASSWORD);
+                }),
+                new LoadGenerator.Scenario("GET cards", 4, () -> {
+                    Session session = randomSession(sessions);
+                    return client.get("/api/cards/user/" + session.user().id() + "?page=0&size=10", session.token());
+                }),
+                new LoadGenerator.Scenario("GET card poll (ETag)", 2, () -> {
+                    Session session = randomSession(sessions);
+                    return client.getIfNoneMatch("/api/cards/" + session.user().cardIds().get(0), session.token(),
+                            eTags);
+                }),
+                new LoadGenerator.Scenario("POST transfer", 3, () -> {
+                    Session session = randomSession(sessions);
+                    List<Long> cards = session.user().cardIds();
+                    return client.post("/api/transactions/transfer", session.token(),
+                            TRANSFER_JSON.formatted(cards.get(0), cards.get(1)));
+                }),
+                new LoadGenerator.Scenario("POST transfer async", 1, () -> {
+                    Session session = randomSession(sessions);
+                    List<Long> cards = session.user().cardIds();
+                    return client.post("/api/transactions/transfer?async=true", session.token(),
+                            TRANSFER_JSON.formatted(cards.get(1), cards.get(0)));
+                }),
+                new LoadGenerator.Scenario("GET history", 2, () -> {
+                    Session session = randomSession(sessions);
+                    return client.get("/api/transactions/user/" + session.user().id() + "?page=0&size=10",
+                            session.token());
+                }),
+                new LoadGenerator.Scenario("GET statement (filtered)", 1, () -> {
+                    Session session = randomSession(sessions);
+                    return client.get("/api/transactions/card/" + session.user().cardIds().get(0) +
+                            "?page=0&size=10&status=COMPLETED&minAmount=1&from=" + LocalDate.now().minusMonths(1),
+                            session.token());
+                })));
+
+        System.out.printf("Data: users=%d cards=%d transactions=%d, concurrency=%d, duration=%s%n",
+                users, users * cardsPerUser, transactions, concurrency, duration);
+        reports.forEach(System.out::println);
+        meterRegistry.find("bank.http.sql.statements").summaries().stream()
+                .sorted(Comparator.comparing(summary -> summary.getId().getTag("endpoint")))
+                .forEach(EndToEndLoadTest::printSqlStatements);
+
+        assertThat(reports).allSatisfy(report -> assertThat(report.requests()).isPositive());
+        assertThat(reports).allSatisfy(report -> assertThat(report.errors()).isZero());
+    }
+
+    private static Session randomSession(List<Session> sessions) {
+        return sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+    }
+
+    private static void printSqlStatements(DistributionSummary summary) {
+        System.out.printf("SQL %-40s requests=%-8d mean=%5.1f max=%3.0f%n", summary.getId().getTag("endpoint"),
+                summary.count(), summary.mean(), summary.max());
+    }
+
+    private record Session(LoadTestDataSeeder.SeededUser user, String token) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.bankcards.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Генератор нагрузки: N клиентов в виртуальных потоках в течение заданного времени
+ * выполняют сценарии, выбирая их по весу, и замеряют задержку каждого вызова
+ */
+final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Запуск нагрузки одним сценарием
+     *
+     * @param name        название сценария для отчета
+     * @param concurrency количество одновременных клиентов
+     * @param duration    длительность
+     * @param request     запрос, возвращает HTTP статус
+     * @return отчет с пропускной способностью и перцентилями
+     */
+    static Report run(String name, int concurrency, Duration duration, IntSupplier request) throws Exception {
+        return runMix(concurrency, duration, List.of(new Scenario(name, 1, request))).get(0);
+    }
+
+    /**
+     * Запуск смешанной нагрузки
+     *
+     * @param concurrency количество одновременных клиентов
+     * @param duration    длительность
+     * @param scenarios   сценарии с весами
+     * @return отчет по каждому сценарию в порядке их передачи
+     */
+    static List<Report> runMix(int concurrency, Duration duration, List<Scenario> scenarios) throws Exception {
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Recorder[]>> workers = new ArrayList<>(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    Recorder[] recorders = new Recorder[scenarios.size()];
+                    Arrays.setAll(recorders, index -> new Recorder());
+                    while (System.nanoTime() < deadline) {
+                        int index = pick(scenarios, ThreadLocalRandom.current().nextInt(totalWeight));
+                        long begin = System.nanoTime();
+                        int status = scenarios.get(index).request().getAsInt();
+                        recorders[index].record(System.nanoTime() - begin, status);
+                    }
+                    return recorders;
+                }));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        List<Recorder[]> results = new ArrayList<>(concurrency);
+        for (Future<Recorder[]> worker : workers) {
+            results.add(worker.get());
+        }
+
+        List<Report> reports = new ArrayList<>(scenarios.size());
+        for (int index = 0; index < scenarios.size(); index++) {
+            Recorder merged = new Recorder();
+            for (Recorder[] recorders : results) {
+                merged.merge(recorders[index]);
+            }
+            reports.add(merged.report(scenarios.get(index).name(), elapsedNanos));
+        }
+        return reports;
+    }
+
+    private static int pick(List<Scenario> scenarios, int roll) {
+        for (int index = 0; index < scenarios.size(); index++) {
+            roll -= scenarios.get(index).weight();
+            if (roll < 0) {
+                return index;
+            }
+        }
+        return scenarios.size() - 1;
+    }
+
+    private static long percentile(long[] sorted, int count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * count) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    /**
+     * Сценарий нагрузки
+     *
+     * @param name    название для отчета
+     * @param weight  относительная частота
+     * @param request запрос, возвращает HTTP статус
+     */
+    record Scenario(String name, int weight, IntSupplier request) {
+    }
+
+    /**
+     * Результат прогона сценария
+     */
+    record Report(String name, long requests, long errors, long elapsedNanos, long p50Nanos, long p99Nanos) {
+
+        double throughput() {
+            return requests / (elapsedNanos / 1_000_000_000d);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s requests=%-8d errors=%-6d throughput=%9.1f req/s  p50=%7.2f ms  p99=%7.2f ms",
+                    name, requests, errors, throughput(), p50Nanos / 1_000_000d, p99Nanos / 1_000_000d);
+        }
+    }
+
+    /**
+     * Задержки одного сценария в одном потоке
+     */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, int status) {
+            if (status >= 400) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Report report(String name, long elapsedNanos) {
+            Arrays.sort(latencies, 0, count);
+            return new Report(name, count, errors, elapsedNanos,
+                    percentile(latencies, count, 0.50), percentile(latencies, count, 0.99));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.util.CardNumberUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Заполнение базы синтетическими данными для нагрузочного теста пакетными вставками JDBC.
+ * Журнал проводок заполняется так, чтобы балансы карт с ним сходились
+ */
+final class LoadTestDataSeeder {
+    static final String USERNAME_FORMAT = "load_user_%d";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CardNumberUtil cardNumberUtil;
+
+    LoadTestDataSeeder(JdbcTemplate jdbcTemplate, CardNumberUtil cardNumberUtil) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardNumberUtil = cardNumberUtil;
+    }
+
+    /**
+     * Создание пользователей, их карт и истории переводов между картами одного владельца
+     *
+     * @param users        количество пользователей
+     * @param cardsPerUser количество карт у каждого пользователя
+     * @param transactions количество транзакций
+     * @param passwordHash хэш общего пароля пользователей
+     * @return созданные пользователи с id карт
+     */
+    List<SeededUser> seed(int users, int cardsPerUser, int transactions, String passwordHash) {
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String username = USERNAME_FORMAT.formatted(i);
+            userRows.add(new Object[]{username, username + "@load.test", passwordHash, "ROLE_USER", "ACTIVE"});
+        }
+        batchUpdate("INSERT INTO users (username, email, password, role, status) VALUES (?, ?, ?, ?, ?)", userRows);
+
+        List<SeededUser> seeded = jdbcTemplate.query(
+                "SELECT id, username FROM users WHERE username LIKE 'load\\_user\\_%' ORDER BY id",
+                (rs, rowNum) -> new SeededUser(rs.getLong("id"), rs.getString("username"), new ArrayList<>()));
+
+        Date expirationDate = Date.valueOf(LocalDate.now().plusYears(3));
+        List<Object[]> cardRows = new ArrayList<>(seeded.size() * cardsPerUser);
+        for (SeededUser user : seeded) {
+            for (int i = 0; i < cardsPerUser; i++) {
+                String cardNumber = cardNumberUtil.generateCardNumber();
+                cardRows.add(new Object[]{cardNumberUtil.encryptCardNumber(cardNumber),
+                        "LOAD USER " + user.id(), cardNumberUtil.maskCardNumber(cardNumber),
+                        INITIAL_BALANCE, expirationDate, "ACTIVE", user.id()});
+            }
+        }
+        batchUpdate("INSERT INTO cards (encrypted_card_number, card_holder, masked_number, balance, "
+                + "expiration_date, status, owner_id) VALUES (?, ?, ?, ?, ?, ?, ?)", cardRows);
+
+        Map<Long, SeededUser> byId = new HashMap<>();
+        seeded.forEach(user -> byId.put(user.id(), user));
+        jdbcTemplate.query("SELECT id, owner_id FROM cards ORDER BY id", rs -> {
+            SeededUser owner = byId.get(rs.getLong("owner_id"));
+            if (owner != null) {
+                owner.cardIds().add(rs.getLong("id"));
+            }
+        });
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Object[]> transactionRows = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            List<Long> cards = seeded.get(random.nextInt(seeded.size())).cardIds();
+            int from = random.nextInt(cards.size());
+            int to = (from + 1 + random.nextInt(cards.size() - 1)) % cards.size();
+            transactionRows.add(new Object[]{cards.get(from), cards.get(to),
+                    BigDecimal.valueOf(random.nextLong(1, 100_000), 2),
+                    Timestamp.valueOf(LocalDateTime.now().minusMinutes(random.nextLong(525_600))),
+                    "COMPLETED", "Load test seed"});
+        }
+        batchUpdate("INSERT INTO transactions (from_card_id, to_card_id, amount, transaction_date, status, "
+                + "description) VALUES (?, ?, ?, ?, ?, ?)", transactionRows);
+
+        // Журнал: начальный остаток и проводки по истории, баланс карт - их сумма
+        jdbcTemplate.update("INSERT INTO ledger_entries (transaction_id, card_id, entry_type, amount, created_at) "
+                + "SELECT NULL, c.id, 'OPENING', c.balance, now() FROM cards c "
+                + "JOIN users u ON u.id = c.owner_id WHERE u.username LIKE 'load\\_user\\_%'");
+        jdbcTemplate.update("INSERT INTO ledger_entries (transaction_id, card_id, entry_type, amount, created_at) "
+                + "SELECT id, from_card_id, 'DEBIT', amount, transaction_date FROM transactions "
+                + "WHERE description = 'Load test seed' UNION ALL "
+                + "SELECT id, to_card_id, 'CREDIT', amount, transaction_date FROM transactions "
+                + "WHERE description = 'Load test seed'");
+        jdbcTemplate.update("UPDATE cards c SET balance = l.balance FROM (SELECT card_id, "
+                + "SUM(CASE WHEN entry_type = 'DEBIT' THEN -amount ELSE amount END) AS balance "
+                + "FROM ledger_entries GROUP BY card_id) l "
+                + "WHERE l.card_id = c.id AND c.card_holder LIKE 'LOAD USER %'");
+
+        // Месячные итоги по истории, как при заполнении в миграции v13
+        jdbcTemplate.update("INSERT INTO card_monthly_stats (card_id, month, incoming, outgoing, transaction_count, "
+                + "min_amount, max_amount) "
+                + "SELECT m.card_id, m.month, m.incoming, m.outgoing, m.transaction_count, m.min_amount, m.max_amount "
+                + "FROM (SELECT e.card_id, "
+                + "date_trunc('month', t.transaction_date)::date AS month, "
+                + "SUM(CASE WHEN e.incoming THEN t.amount ELSE 0 END) AS incoming, "
+                + "SUM(CASE WHEN e.incoming THEN 0 ELSE t.amount END) AS outgoing, COUNT(*) AS transaction_count, "
+                + "MIN(t.amount) AS min_amount, MAX(t.amount) AS max_amount FROM transactions t "
+                + "CROSS JOIN LATERAL (VALUES (t.from_card_id, FALSE), (t.to_card_id, TRUE)) AS e(card_id, incoming) "
+                + "WHERE t.description = 'Load test seed' "
+                + "GROUP BY e.card_id, date_trunc('month', t.transaction_date)) m");
+        return seeded;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    /**
+     * Созданный пользователь
+     *
+     * @param id       id пользователя
+     * @param username логин
+     * @param cardIds  id карт пользователя
+     */
+    record SeededUser(long id, String username, List<Long> cardIds) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.integration.BankApiClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочный тест для сравнения платформенных и виртуальных потоков.
+ * Запускается против уже поднятого приложения, см. load-test/compare-thread-modes.sh
+ */
+@DisplayName("Нагрузочный тест режима потоков")
+@EnabledIfSystemProperty(named = "loadtest.base-url", matches = ".+")
+class ThreadModeLoadTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String label = System.getProperty("loadtest.label", "default");
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+
+    private BankApiClient client;
+    private String token;
+    private long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = new BankApiClient(System.getProperty("loadtest.base-url"));
+        token = client.signIn(
+                System.getProperty("loadtest.username", "user1"),
+                System.getProperty("loadtest.password", "password"));
+        userId = OBJECT_MAPPER.readTree(client.getBody("/api/users/me", token)).get("id").asLong();
+    }
+
+    @DisplayName("Чтение карт и истории транзакций пользователя")
+    @Test
+    void cardsAndHistory() throws Exception {
+        LoadGenerator.Report cards = LoadGenerator.run(label + " GET cards", concurrency, duration,
+                () -> client.get("/api/cards/user/" + userId + "?page=0&size=10", token));
+        LoadGenerator.Report history = LoadGenerator.run(label + " GET history", concurrency, duration,
+                () -> client.get("/api/transactions/user/" + userId + "?page=0&size=10", token));
+
+        System.out.println(cards);
+        System.out.println(history);
+        assertThat(cards.requests()).isPositive();
+        assertThat(history.requests()).isPositive();
+    }
+}
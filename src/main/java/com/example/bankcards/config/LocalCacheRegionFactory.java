@@ -0,0 +1,159 @@
+package com.example.bankcards.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Локальный кэш второго уровня Hibernate: ограниченный LRU в памяти на каждый регион.
+ * Стратегии доступа (read-write с мягкими блокировками) дает сам Hibernate, здесь только хранилище.
+ * Размер региона задается в hibernate.cache.local.regions.&lt;регион&gt;, для остальных
+ * hibernate.cache.local.default-max-entries. Время жизни записи региона задается
+ * в hibernate.cache.local.time-to-live-seconds.&lt;регион&gt;, без настройки записи не устаревают
+ */
+public class LocalCacheRegionFactory extends RegionFactoryTemplate {
+    static final String REGION_MAX_ENTRIES_PREFIX = "hibernate.cache.local.regions.";
+    static final String DEFAULT_MAX_ENTRIES = "hibernate.cache.local.default-max-entries";
+    static final String REGION_TIME_TO_LIVE_PREFIX = "hibernate.cache.local.time-to-live-seconds.";
+    private static final int FALLBACK_MAX_ENTRIES = 1000;
+
+    private final Map<String, LocalStorageAccess> regions = new ConcurrentHashMap<>();
+    private Map<String, Object> settings = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        settings = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(LocalStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return storage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    private LocalStorageAccess storage(String regionName) {
+        return regions.computeIfAbsent(regionName, name -> new LocalStorageAccess(maxEntries(name), timeToLive(name),
+                System::nanoTime));
+    }
+
+    int maxEntries(String regionName) {
+        Object value = settings.getOrDefault(REGION_MAX_ENTRIES_PREFIX + regionName, settings.get(DEFAULT_MAX_ENTRIES));
+        return value != null ? Integer.parseInt(value.toString().trim()) : FALLBACK_MAX_ENTRIES;
+    }
+
+    Duration timeToLive(String regionName) {
+        Object value = settings.get(REGION_TIME_TO_LIVE_PREFIX + regionName);
+        return value != null ? Duration.ofSeconds(Long.parseLong(value.toString().trim())) : Duration.ZERO;
+    }
+
+    /**
+     * Хранилище региона, при переполнении вытесняется давно не читанная запись.
+     * Устаревшая запись считается отсутствующей и удаляется при обращении
+     */
+    static final class LocalStorageAccess implements DomainDataStorageAccess {
+        private final Map<Object, CachedValue> entries;
+        private final long timeToLiveNanos;
+        private final LongSupplier nanoClock;
+
+        LocalStorageAccess(int maxEntries) {
+            this(maxEntries, Duration.ZERO, System::nanoTime);
+        }
+
+        /**
+         * @param timeToLive время жизни записи, ноль - без устаревания
+         * @param nanoClock  источник времени в наносекундах
+         */
+        LocalStorageAccess(int maxEntries, Duration timeToLive, LongSupplier nanoClock) {
+            this.timeToLiveNanos = timeToLive.toNanos();
+            this.nanoClock = nanoClock;
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, CachedValue> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        @Override
+        public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            CachedValue cached = live(key);
+            return cached != null ? cached.value() : null;
+        }
+
+        @Override
+        public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            entries.put(key, new CachedValue(value, timeToLiveNanos > 0 ? nanoClock.getAsLong() + timeToLiveNanos : 0));
+        }
+
+        @Override
+        public synchronized boolean contains(Object key) {
+            return live(key) != null;
+        }
+
+        @Override
+        public synchronized void evictData() {
+            entries.clear();
+        }
+
+        @Override
+        public synchronized void evictData(Object key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void release() {
+            evictData();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        private CachedValue live(Object key) {
+            CachedValue cached = entries.get(key);
+            if (cached != null && cached.expiresAt() != 0 && nanoClock.getAsLong() - cached.expiresAt() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return cached;
+        }
+
+        /**
+         * Запись региона
+         *
+         * @param value     закэшированное значение
+         * @param expiresAt момент устаревания по nanoClock, ноль - не устаревает
+         */
+        private record CachedValue(Object value, long expiresAt) {
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Включение фоновых задач по расписанию
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
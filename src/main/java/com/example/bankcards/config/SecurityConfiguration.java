@@ -1,11 +1,14 @@
 package com.example.bankcards.config;
 
+import com.example.bankcards.security.BCryptStrengthCalibrator;
 import com.example.bankcards.security.JwtAuthenticationFilter;
 import com.example.bankcards.security.handlers.CustomAccessDeniedHandler;
 import com.example.bankcards.security.handlers.CustomAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -14,12 +17,16 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
@@ -31,17 +38,23 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfiguration {
+    private static final String PASSWORD_ENCODER_ID = "bcrypt";
     private static final String[] PUBLIC_PATHS = {
             "/api/auth/sign-up",
             "/api/auth/sign-in",
             "/api-docs/**",
             "/swagger-ui/**",
-            "/swagger-ui.html"
+            "/swagger-ui.html",
+            "/actuator/health"
     };
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    private static final String MANAGEMENT_SERVER_NAMESPACE = "management";
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
+    // Порт актуатора, если он вынесен на отдельный сервер (management.server.port)
+    private volatile int managementPort = -1;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -57,6 +70,11 @@ public class SecurityConfiguration {
                 // Настройка доступа к конечным точкам
                 .authorizeHttpRequests(request -> request
                         .requestMatchers(PUBLIC_PATHS).permitAll()
+                        // Prometheus собирает метрики без токена только через порт актуатора на внутреннем интерфейсе
+                        .requestMatchers(scrape -> scrape.getLocalPort() == managementPort
+                                && PROMETHEUS_PATH.equals(scrape.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/reconciliation/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(manager -> manager.sessionCreationPolicy(STATELESS))
                 .userDetailsService(userDetailsService)
@@ -68,9 +86,32 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    /**
+     * Запоминает порт сервера актуатора, когда он запущен отдельно от основного
+     */
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (MANAGEMENT_SERVER_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
+    /**
+     * Делегирующий энкодер: новые пароли хэшируются BCrypt с подобранной стоимостью,
+     * старые хэши (без префикса или с другой стоимостью) обновляются при успешном входе
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(BCryptStrengthCalibrator strengthCalibrator) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strengthCalibrator.calibrate());
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PASSWORD_ENCODER_ID, bcrypt);
+        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(PASSWORD_ENCODER_ID, encoders);
+        // Хэши из миграций хранятся без префикса {bcrypt}
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 
     @Bean
@@ -0,0 +1,40 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.metrics.SqlStatementBudgetFilter;
+import com.example.bankcards.metrics.SqlStatementBudgetProperties;
+import com.example.bankcards.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Конфигурация подсчета SQL-запросов на HTTP-запрос
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatementBudgetProperties.class)
+@ConditionalOnProperty(prefix = "sql.statement-budget", name = "enabled", matchIfMissing = true)
+public class SqlStatementMetricsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return hibernateProperties ->
+                hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Фильтр стоит первым, чтобы учитывать и запросы фильтров безопасности
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            MeterRegistry meterRegistry, SqlStatementBudgetProperties properties) {
+        var registration = new FilterRegistrationBean<>(new SqlStatementBudgetFilter(meterRegistry, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -4,11 +4,13 @@ import com.example.bankcards.dto.request.SignInRequest;
 import com.example.bankcards.dto.request.SignUpRequest;
 import com.example.bankcards.dto.response.JwtAuthenticationResponse;
 import com.example.bankcards.mapper.UserMapper;
+import com.example.bankcards.security.LoginRateLimiter;
 import com.example.bankcards.service.AuthenticationServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,16 +28,20 @@ public class AuthController {
     private final AuthenticationServiceImpl authenticationService;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Operation(summary = "Регистрация пользователя")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Успешная регистрация"),
             @ApiResponse(responseCode = "400", description = "Неверные данные запроса"),
             @ApiResponse(responseCode = "404", description = "Пользователь не найден"),
+            @ApiResponse(responseCode = "429", description = "Слишком много попыток"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
     })
     @PostMapping("/sign-up")
-    public JwtAuthenticationResponse signUp(@RequestBody @Valid SignUpRequest request) {
+    public JwtAuthenticationResponse signUp(@RequestBody @Valid SignUpRequest request,
+                                            HttpServletRequest httpRequest) {
+        loginRateLimiter.checkSignUp(httpRequest.getRemoteAddr());
         var user = userMapper.toEntityWithEncodedPassword(request, passwordEncoder);
         String token = authenticationService.signUp(user);
         return new JwtAuthenticationResponse(token);
@@ -46,12 +52,15 @@ public class AuthController {
             @ApiResponse(responseCode = "400", description = "Неверные данные запроса"),
             @ApiResponse(responseCode = "401", description = "Неверные учетные данные"),
             @ApiResponse(responseCode = "404", description = "Пользователь не найден"),
+            @ApiResponse(responseCode = "429", description = "Слишком много попыток"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
     })
     @ApiResponse(responseCode = "404", description = "Пользователь не найден")
 
     @PostMapping("/sign-in")
-    public JwtAuthenticationResponse signIn(@RequestBody @Valid SignInRequest request) {
+    public JwtAuthenticationResponse signIn(@RequestBody @Valid SignInRequest request,
+                                            HttpServletRequest httpRequest) {
+        loginRateLimiter.checkSignIn(httpRequest.getRemoteAddr(), request.getUsername());
         String token = authenticationService.signIn(request.getUsername(), request.getPassword());
         return new JwtAuthenticationResponse(token);
     }
@@ -1,6 +1,7 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.request.CardCreateRequest;
+import com.example.bankcards.dto.response.CardMonthlyStatsResponse;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.entity.Card;
@@ -8,6 +9,8 @@ import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.mapper.CardMapper;
 import com.example.bankcards.security.UserSecurity;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.CardStatsService;
+import com.example.bankcards.service.CardStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -19,8 +22,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping("/api/cards")
@@ -29,6 +37,8 @@ import org.springframework.web.bind.annotation.*;
 @ApiResponses(@ApiResponse(responseCode = "200", useReturnTypeSchema = true))
 public class CardController {
     private final CardService cardService;
+    private final CardStreamService cardStreamService;
+    private final CardStatsService cardStatsService;
     private final CardMapper cardMapper;
     private final UserSecurity userSecurity;
 
@@ -50,19 +60,39 @@ public class CardController {
     @Operation(summary = "Получить карту по ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Карта успешно получена"),
+            @ApiResponse(responseCode = "304", description = "Карта не изменилась с версии из If-None-Match"),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
             @ApiResponse(responseCode = "404", description = "Карта не найдена"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
     })
     @GetMapping("/{cardId}")
-    public CardResponse getCard(@PathVariable Long cardId) {
+    public CardResponse getCard(@PathVariable Long cardId, WebRequest request) {
+        // Версия читается до тела: если карта изменится между запросами, клиент просто получит тело еще раз
+        if (request.checkNotModified("card-" + cardId + "-" + cardService.getCardVersion(cardId))) {
+            return null;
+        }
         Card card = cardService.getCardById(cardId);
         return cardMapper.toResponse(card);
     }
 
+    @Operation(summary = "Получить итоги карты за месяц для выписки")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Итоги успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Неверный формат месяца, ожидается yyyy-MM"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
+    })
+    @GetMapping("/{cardId}/stats")
+    public CardMonthlyStatsResponse getCardStats(
+            @PathVariable Long cardId,
+            @RequestParam(required = false) YearMonth month) {
+        return cardMapper.toResponse(cardStatsService.getMonthlyStats(cardId, month != null ? month : YearMonth.now()));
+    }
+
     @Operation(summary = "Получить все карты пользователя")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Карты пользователя успешно получены"),
+            @ApiResponse(responseCode = "304", description = "Карты не изменились с версии из If-None-Match"),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
             @ApiResponse(responseCode = "404", description = "Пользователь не найден"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
@@ -72,8 +102,13 @@ public class CardController {
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "10") @Min(1) int size,
-            @RequestParam(required = false) CardStatus status) {
+            @RequestParam(required = false) CardStatus status,
+            WebRequest request) {
 
+        // ETag по всем картам пользователя, поэтому годится для любой страницы и фильтра
+        if (request.checkNotModified("cards-" + userId + "-" + cardService.getUserCardsVersion(userId))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").ascending());
         Page<Card> cardsPage;
 
@@ -86,6 +121,17 @@ public class CardController {
         return cardMapper.toPageResponse(cardsPage);
     }
 
+    @Operation(summary = "Поток изменений баланса и статуса карт пользователя (SSE)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поток открыт, сначала приходит текущее состояние карт"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
+    })
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserCards(@PathVariable Long userId) {
+        return cardStreamService.subscribe(userId);
+    }
+
     @Operation(summary = "Получить все карты (только для ADMIN)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Все карты успешно получены"),
@@ -143,6 +189,22 @@ public class CardController {
         return cardMapper.toResponse(updatedCard);
     }
 
+    @Operation(summary = "Включить или выключить полосы баланса карты, для админа")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Настройка карты изменена"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "404", description = "Карта не найдена"),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
+    })
+    @PatchMapping("/{cardId}/balance-striping")
+    public CardResponse updateBalanceStriping(
+            @PathVariable Long cardId,
+            @RequestParam boolean enabled) {
+
+        Card updatedCard = cardService.updateBalanceStriping(cardId, enabled);
+        return cardMapper.toResponse(updatedCard);
+    }
+
     @Operation(summary = "Удалить карту")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Карта успешно удалена"),
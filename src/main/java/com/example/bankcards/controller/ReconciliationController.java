@@ -0,0 +1,67 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.response.BalanceMismatchResponse;
+import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.ReconciliationRunResponse;
+import com.example.bankcards.mapper.ReconciliationMapper;
+import com.example.bankcards.service.ReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reconciliation")
+@RequiredArgsConstructor
+@Tag(name = "Сверка балансов (только для ADMIN)")
+@ApiResponses(@ApiResponse(responseCode = "200", useReturnTypeSchema = true))
+public class ReconciliationController {
+    private final ReconciliationService reconciliationService;
+    private final ReconciliationMapper reconciliationMapper;
+
+    @Operation(summary = "Запустить сверку балансов с журналом проводок")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Сверка выполнена"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "409", description = "Сверка уже выполняется"),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
+    })
+    @PostMapping("/runs")
+    public ReconciliationRunResponse reconcile() {
+        return reconciliationMapper.toResponse(reconciliationService.reconcile());
+    }
+
+    @Operation(summary = "Получить последний запуск сверки")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Запуск сверки успешно получен"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "404", description = "Сверка еще не запускалась"),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
+    })
+    @GetMapping("/runs/latest")
+    public ReconciliationRunResponse getLatestRun() {
+        return reconciliationMapper.toResponse(reconciliationService.getLatestRun());
+    }
+
+    @Operation(summary = "Получить расхождения балансов, найденные запуском сверки")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Расхождения успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "404", description = "Запуск сверки не найден"),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
+    })
+    @GetMapping("/runs/{runId}/mismatches")
+    public PageResponse<BalanceMismatchResponse> getMismatches(
+            @PathVariable Long runId,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) int size) {
+
+        return reconciliationMapper.toPageResponse(
+                reconciliationService.getMismatches(runId, PageRequest.of(page, size, Sort.by("cardId"))));
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.request.TransactionFilter;
 import com.example.bankcards.dto.request.TransferRequest;
 import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.dto.response.TransactionResponse;
 import com.example.bankcards.entity.Transaction;
 import com.example.bankcards.mapper.TransactionMapper;
 import com.example.bankcards.security.UserSecurity;
+import com.example.bankcards.service.AsyncTransferService;
+import com.example.bankcards.service.IdempotencyService;
 import com.example.bankcards.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,12 +17,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.Objects;
+
 @RestController
 @RequestMapping("/api/transactions")
 @RequiredArgsConstructor
@@ -27,46 +35,80 @@ import org.springframework.web.bind.annotation.*;
 @ApiResponses(@ApiResponse(responseCode = "200", useReturnTypeSchema = true))
 public class TransactionController {
     private final TransactionService transactionService;
+    private final AsyncTransferService asyncTransferService;
+    private final IdempotencyService idempotencyService;
     private final TransactionMapper transactionMapper;
     private final UserSecurity userSecurity;
 
     @Operation(summary = "Получить историю все транзакций (для Админа)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Транзакции успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Неверные фильтры"),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
     })
     @GetMapping
     public PageResponse<TransactionResponse> getUserTransactions(
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "10") @Min(1) int size) {
+            @RequestParam(defaultValue = "10") @Min(1) int size,
+            @ParameterObject @Valid TransactionFilter filter) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactionsPage = transactionService.getAllTransactions(pageable);
+        Page<Transaction> transactionsPage = transactionService.getAllTransactions(filter, pageable);
         return transactionMapper.toPageResponse(transactionsPage);
     }
 
     @Operation(summary = "Перевод между своими картами")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Перевод успешно выполнен"),
+            @ApiResponse(responseCode = "202", description = "Перевод принят в обработку (async=true)"),
             @ApiResponse(responseCode = "400", description = "Неверные данные запроса"),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
             @ApiResponse(responseCode = "404", description = "Карта не найдена"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key уже использован с другим запросом"),
+            @ApiResponse(responseCode = "429", description = "Очередь переводов заполнена"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
     })
     @PostMapping("/transfer")
-    public TransactionResponse transferBetweenCards(
-            @RequestBody @Valid TransferRequest request) {
+    public ResponseEntity<TransactionResponse> transferBetweenCards(
+            @RequestBody @Valid TransferRequest request,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        Long userId = userSecurity.getLoggedInUserId();
+        if (!async) {
+            Transaction transaction = idempotencyService.execute(userId, idempotencyKey, fingerprint(request),
+                    () -> transactionService.transferBetweenOwnCards(
+                            userId, request.getFromCardId(), request.getToCardId(),
+                            request.getAmount(), request.getDescription()));
+            return ResponseEntity.ok(transactionMapper.toResponse(transaction));
+        }
 
-        Transaction transaction = transactionService.transferBetweenOwnCards(
-                userSecurity.getLoggedInUserId(), request.getFromCardId(), request.getToCardId(),
-                request.getAmount(), request.getDescription());
-        return transactionMapper.toResponse(transaction);
+        Transaction transaction = idempotencyService.execute(userId, idempotencyKey, fingerprint(request),
+                () -> asyncTransferService.submitTransfer(
+                        userId, request.getFromCardId(), request.getToCardId(),
+                        request.getAmount(), request.getDescription()));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/" + transaction.getId()))
+                .body(transactionMapper.toResponse(transaction));
+    }
+
+    @Operation(summary = "Получить транзакцию, например для проверки статуса асинхронного перевода")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Транзакция успешно получена"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+            @ApiResponse(responseCode = "404", description = "Транзакция не найдена"),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
+    })
+    @GetMapping("/{transactionId}")
+    public TransactionResponse getTransaction(@PathVariable Long transactionId) {
+        return transactionMapper.toResponse(transactionService.getTransaction(transactionId));
     }
 
     @Operation(summary = "Получить историю транзакций пользователя")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Транзакции пользователя успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Неверные фильтры"),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
             @ApiResponse(responseCode = "404", description = "Пользователь не найден"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
@@ -75,16 +117,18 @@ public class TransactionController {
     public PageResponse<TransactionResponse> getUserTransactions(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "10") @Min(1) int size) {
+            @RequestParam(defaultValue = "10") @Min(1) int size,
+            @ParameterObject @Valid TransactionFilter filter) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactionsPage = transactionService.getUserTransactions(userId, pageable);
+        Page<Transaction> transactionsPage = transactionService.getUserTransactions(userId, filter, pageable);
         return transactionMapper.toPageResponse(transactionsPage);
     }
 
     @Operation(summary = "Получить историю транзакций по карте")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Транзакции по карте успешно получены"),
+            @ApiResponse(responseCode = "400", description = "Неверные фильтры"),
             @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
             @ApiResponse(responseCode = "404", description = "Карта не найдена"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
@@ -93,11 +137,19 @@ public class TransactionController {
     public PageResponse<TransactionResponse> getCardTransactions(
             @PathVariable Long cardId,
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "10") @Min(1) int size) {
+            @RequestParam(defaultValue = "10") @Min(1) int size,
+            @ParameterObject @Valid TransactionFilter filter) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactionsPage = transactionService.getCardTransactions(cardId, pageable);
+        Page<Transaction> transactionsPage = transactionService.getCardTransactions(cardId, filter, pageable);
         return transactionMapper.toPageResponse(transactionsPage);
     }
 
+    // Сумма без незначащих нулей: 10.0 и 10.00 один и тот же запрос
+    private static String fingerprint(TransferRequest request) {
+        return request.getFromCardId() + "|" + request.getToCardId() + "|"
+                + request.getAmount().stripTrailingZeros().toPlainString() + "|"
+                + Objects.toString(request.getDescription(), "");
+    }
+
 }
\ No newline at end of file
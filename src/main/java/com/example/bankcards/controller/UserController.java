@@ -21,6 +21,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -60,11 +61,15 @@ public class UserController {
     @Operation(summary = "Получить пользователя по ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Пользователь успешно получен"),
+            @ApiResponse(responseCode = "304", description = "Пользователь не изменился с версии из If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Пользователь не найден"),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера")
     })
     @GetMapping("/{userId}")
-    public UserResponse getUser(@PathVariable Long userId) {
+    public UserResponse getUser(@PathVariable Long userId, WebRequest request) {
+        if (request.checkNotModified("user-" + userId + "-" + userService.getVersion(userId))) {
+            return null;
+        }
         User user = userService.getById(userId);
         return userMapper.toResponse(user);
     }
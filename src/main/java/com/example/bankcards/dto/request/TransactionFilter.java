@@ -0,0 +1,53 @@
+package com.example.bankcards.dto.request;
+
+import com.example.bankcards.entity.enums.TransactionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Фильтры истории транзакций, пустые поля не ограничивают выборку
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Фильтры истории транзакций")
+public class TransactionFilter {
+
+    @Schema(description = "Дата транзакции с (включительно)", example = "2024-01-01")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @Schema(description = "Дата транзакции по (включительно)", example = "2024-01-31")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @Schema(description = "Минимальная сумма", example = "100")
+    private BigDecimal minAmount;
+
+    @Schema(description = "Максимальная сумма", example = "5000")
+    private BigDecimal maxAmount;
+
+    @Schema(description = "Статус транзакции", example = "COMPLETED")
+    private TransactionStatus status;
+
+    @Schema(hidden = true)
+    @AssertTrue(message = "Дата from не может быть позже даты to")
+    public boolean isPeriodValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+
+    @Schema(hidden = true)
+    @AssertTrue(message = "minAmount не может быть больше maxAmount")
+    public boolean isAmountRangeValid() {
+        return minAmount == null || maxAmount == null || minAmount.compareTo(maxAmount) <= 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.bankcards.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO для ответа по расхождению баланса
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ответ с информацией о расхождении баланса карты с журналом")
+public class BalanceMismatchResponse {
+
+    @Schema(description = "ID карты", example = "1")
+    private Long cardId;
+
+    @Schema(description = "Баланс карты", example = "1500.75")
+    private BigDecimal cardBalance;
+
+    @Schema(description = "Баланс по журналу проводок", example = "1400.75")
+    private BigDecimal ledgerBalance;
+}
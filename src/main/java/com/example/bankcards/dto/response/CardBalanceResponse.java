@@ -0,0 +1,28 @@
+package com.example.bankcards.dto.response;
+
+import com.example.bankcards.entity.enums.CardStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO события потока карт: текущий баланс и статус карты
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Текущий баланс и статус карты")
+public class CardBalanceResponse {
+
+    @Schema(description = "ID карты", example = "1")
+    private Long cardId;
+
+    @Schema(description = "Баланс карты", example = "1000.50")
+    private BigDecimal balance;
+
+    @Schema(description = "Статус карты", example = "ACTIVE")
+    private CardStatus status;
+}
@@ -0,0 +1,44 @@
+package com.example.bankcards.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * DTO для ответа с итогами карты за месяц
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Итоги карты за месяц по завершенным переводам")
+public class CardMonthlyStatsResponse {
+
+    @Schema(description = "ID карты", example = "1")
+    private Long cardId;
+
+    @Schema(description = "Месяц", example = "2024-01", type = "string")
+    private YearMonth month;
+
+    @Schema(description = "Сумма зачислений", example = "1500.00")
+    private BigDecimal incoming;
+
+    @Schema(description = "Сумма списаний", example = "700.00")
+    private BigDecimal outgoing;
+
+    @Schema(description = "Количество переводов", example = "5")
+    private int transactionCount;
+
+    @Schema(description = "Минимальная сумма перевода, пусто если переводов не было", example = "50.00")
+    private BigDecimal minAmount;
+
+    @Schema(description = "Максимальная сумма перевода, пусто если переводов не было", example = "1000.00")
+    private BigDecimal maxAmount;
+
+    @Schema(description = "Баланс на конец месяца по журналу проводок",
+            example = "800.00")
+    private BigDecimal closingBalance;
+}
@@ -0,0 +1,39 @@
+package com.example.bankcards.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO для ответа по запуску сверки балансов
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ответ с информацией о запуске сверки балансов")
+public class ReconciliationRunResponse {
+
+    @Schema(description = "ID запуска сверки", example = "1")
+    private Long id;
+
+    @Schema(description = "Контрольная точка прошлой сверки, проводки после нее переиграны", example = "1000")
+    private Long fromEntryId;
+
+    @Schema(description = "Новая контрольная точка снимков", example = "1500")
+    private Long checkpointEntryId;
+
+    @Schema(description = "Количество обновленных снимков", example = "120")
+    private int snapshotsUpdated;
+
+    @Schema(description = "Количество карт с расхождением", example = "0")
+    private int mismatches;
+
+    @Schema(description = "Время начала", example = "2024-01-15T03:00:00")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Время окончания", example = "2024-01-15T03:00:02")
+    private LocalDateTime finishedAt;
+}
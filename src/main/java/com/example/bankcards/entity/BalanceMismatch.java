@@ -0,0 +1,36 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Карта, баланс которой не сошелся с журналом при сверке
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "balance_mismatches")
+public class BalanceMismatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Column(name = "card_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cardBalance;
+
+    @Column(name = "ledger_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal ledgerBalance;
+}
@@ -0,0 +1,34 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Баланс карты по журналу на момент последней контрольной точки сверки
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "balance_snapshots")
+public class BalanceSnapshot {
+    @Id
+    @Column(name = "card_id")
+    private Long cardId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
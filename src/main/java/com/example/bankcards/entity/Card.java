@@ -8,6 +8,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,6 +21,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "cards")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "card")
 public class Card {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,15 +45,38 @@ public class Card {
     @Column(length = 10, nullable = false)
     private CardStatus status;
 
-    @Column(nullable = false, precision = 19, scale = 2)
+    /**
+     * Меняется только нативными запросами с проверкой в БД. Hibernate баланс не записывает,
+     * иначе save() загруженной раньше карты затер бы перевод, закоммиченный после ее чтения
+     */
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
     @DecimalMin(value = "0.00", message = "Balance cannot be negative")
     private BigDecimal balance;
 
+    /**
+     * Зачисления идут в полосы card_balance_stripes, а не в строку карты
+     */
+    @Column(name = "balance_striped", nullable = false)
+    private boolean balanceStriped;
+
+    /**
+     * Сумма зачислений в полосах, еще не свернутых в balance
+     */
+    @Formula("(SELECT COALESCE(SUM(s.amount), 0) FROM card_balance_stripes s WHERE s.card_id = id)")
+    private BigDecimal stripedBalance;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_cards_owner"))
     private User owner;
 
+    /**
+     * Доступный баланс: основной баланс и несвернутые зачисления в полосах
+     */
+    public BigDecimal getAvailableBalance() {
+        return stripedBalance == null ? balance : balance.add(stripedBalance);
+    }
+
     /**
      * Ставим статус EXPIRED при загрузке или обновлении
      */
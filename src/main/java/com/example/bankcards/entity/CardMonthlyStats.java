@@ -0,0 +1,59 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Итоги карты за месяц по завершенным переводам, обновляются после коммита переводов из outbox
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(CardMonthlyStats.Key.class)
+@Table(name = "card_monthly_stats")
+public class CardMonthlyStats {
+    @Id
+    @Column(name = "card_id")
+    private Long cardId;
+
+    // Первый день месяца
+    @Id
+    @Column(name = "month")
+    private LocalDate month;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal incoming;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal outgoing;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+    @Column(name = "min_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(name = "max_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal maxAmount;
+
+    // Не хранится: считается при чтении по журналу проводок
+    @Transient
+    private BigDecimal closingBalance;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long cardId;
+        private LocalDate month;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запуск сверки балансов карт с журналом проводок
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "reconciliation_runs")
+public class ReconciliationRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "from_entry_id", nullable = false)
+    private Long fromEntryId;
+
+    @Column(name = "checkpoint_entry_id", nullable = false)
+    private Long checkpointEntryId;
+
+    @Column(name = "snapshots_updated", nullable = false)
+    private int snapshotsUpdated;
+
+    @Column(nullable = false)
+    private int mismatches;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
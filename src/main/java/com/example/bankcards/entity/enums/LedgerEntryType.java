@@ -0,0 +1,10 @@
+package com.example.bankcards.entity.enums;
+
+/**
+ * Тип проводки в журнале: списание, зачисление или начальный остаток карты
+ */
+public enum LedgerEntryType {
+    OPENING,
+    DEBIT,
+    CREDIT
+}
@@ -0,0 +1,10 @@
+package com.example.bankcards.entity.enums;
+
+/**
+ * Типы доменных событий
+ */
+public enum OutboxEventType {
+    CARD_CREATED,
+    CARD_STATUS_CHANGED,
+    TRANSFER_COMPLETED
+}
@@ -1,8 +1,8 @@
 package com.example.bankcards.entity.enums;
 
 /**
- * Список статусов транзакций
- * Но не используются, только ставится COMPLETED
+ * Список статусов транзакций.
+ * Синхронный перевод сразу COMPLETED, асинхронный проходит PENDING, затем COMPLETED или FAILED
  */
 public enum TransactionStatus {
     PENDING,
@@ -0,0 +1,45 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.entity.enums.OutboxEventType;
+import com.example.bankcards.service.CardStatsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Месячные итоги карт по событиям о переводах. Пишутся в транзакции ретрансляции:
+ * при ее откате пачка вернется в outbox и будет учтена один раз
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CardStatsEventSink implements EventSink {
+    private final CardStatsService cardStatsService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        List<TransactionResponse> transfers = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (event.getEventType() != OutboxEventType.TRANSFER_COMPLETED) {
+                continue;
+            }
+            try {
+                transfers.add(objectMapper.readValue(event.getPayload(), TransactionResponse.class));
+            } catch (JsonProcessingException e) {
+                // Повтор не поможет, а исключение остановило бы outbox для всех событий
+                log.warn("Skipping malformed transfer event {}: {}", event.getId(), e.getMessage());
+            }
+        }
+        if (!transfers.isEmpty()) {
+            cardStatsService.recordTransfers(transfers);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Получатель событий из outbox. Все бины этого типа получают каждую пачку
+ */
+public interface EventSink {
+
+    /**
+     * Публикация пачки событий в порядке id. Исключение откатывает пачку, и она будет отправлена повторно
+     *
+     * @param events события
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,53 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Подписка на события внутри приложения вместо опроса истории транзакций.
+ * Слушатели вызываются в потоке ретранслятора outbox и должны быть быстрыми.
+ * Доставка как минимум один раз: при сбое пачки событие может прийти повторно
+ */
+@Slf4j
+@Component
+public class EventSubscriptions implements EventSink {
+    private final List<Consumer<OutboxEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Подписка на все события
+     *
+     * @param listener слушатель
+     * @return подписка, close() отписывает слушателя
+     */
+    public Subscription subscribe(Consumer<OutboxEvent> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (Consumer<OutboxEvent> listener : listeners) {
+            for (OutboxEvent event : events) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    // Ошибка одного подписчика не должна останавливать outbox для остальных
+                    log.warn("Event listener failed on event {}: {}", event.getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Активная подписка
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Запись событий в файл, одно событие в строке JSON
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.file-sink.enabled", havingValue = "true", matchIfMissing = true)
+public class FileEventSink implements EventSink {
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.file-sink.path:logs/events.jsonl}")
+    private Path path;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OutboxEvent event : events) {
+                    writer.write(toLine(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать события в " + path, e);
+        }
+    }
+
+    private String toLine(OutboxEvent event) throws JsonProcessingException {
+        ObjectNode line = objectMapper.createObjectNode()
+                .put("id", event.getId())
+                .put("type", event.getEventType().name())
+                .put("aggregateId", event.getAggregateId())
+                .put("userId", event.getUserId())
+                .put("createdAt", event.getCreatedAt().toString());
+        line.set("payload", objectMapper.readTree(event.getPayload()));
+        return objectMapper.writeValueAsString(line);
+    }
+}
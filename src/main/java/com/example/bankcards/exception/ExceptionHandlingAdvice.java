@@ -9,6 +9,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 /**
@@ -20,14 +21,16 @@ public class ExceptionHandlingAdvice {
 
     @ExceptionHandler({IllegalArgumentException.class, MethodArgumentNotValidException.class,
             EmailAlreadyExistsException.class, UsernameAlreadyExistsException.class,
-            InvalidAmountException.class, InsufficientFundsException.class, HandlerMethodValidationException.class
+            InvalidAmountException.class, InsufficientFundsException.class, HandlerMethodValidationException.class,
+            MethodArgumentTypeMismatchException.class
     })
     public ResponseEntity<ErrorResponse> handleBadRequest(Exception e) {
         return createErrorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
     }
 
     @ExceptionHandler({NoHandlerFoundException.class, UserNotFoundException.class,
-            CardNotFoundException.class, TransactionNotFoundException.class})
+            CardNotFoundException.class, TransactionNotFoundException.class,
+            ReconciliationRunNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleNotFound(Exception e) {
         return createErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
     }
@@ -45,6 +48,21 @@ public class ExceptionHandlingAdvice {
         return createErrorResponse(HttpStatus.FORBIDDEN, e.getMessage());
     }
 
+    @ExceptionHandler(ReconciliationInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ReconciliationInProgressException e) {
+        return createErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleUnprocessableEntity(IdempotencyKeyReusedException e) {
+        return createErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException e) {
+        return createErrorResponse(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAll(Exception e) {
         return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Server error - " + e.getMessage());
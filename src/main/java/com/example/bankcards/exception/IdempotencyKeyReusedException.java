@@ -0,0 +1,10 @@
+package com.example.bankcards.exception;
+
+/**
+ * Если ключ идемпотентности повторно прислан с другим запросом
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
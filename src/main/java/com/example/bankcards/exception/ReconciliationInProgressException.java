@@ -0,0 +1,10 @@
+package com.example.bankcards.exception;
+
+/**
+ * если сверка балансов уже выполняется
+ */
+public class ReconciliationInProgressException extends RuntimeException {
+    public ReconciliationInProgressException(String message) {
+        super(message);
+    }
+}
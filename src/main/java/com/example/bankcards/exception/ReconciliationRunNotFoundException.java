@@ -0,0 +1,10 @@
+package com.example.bankcards.exception;
+
+/**
+ * если запуск сверки не найден
+ */
+public class ReconciliationRunNotFoundException extends RuntimeException {
+    public ReconciliationRunNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bankcards.exception;
+
+/**
+ * Если превышен лимит попыток входа или регистрации
+ */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
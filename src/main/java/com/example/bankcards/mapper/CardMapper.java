@@ -1,9 +1,12 @@
 package com.example.bankcards.mapper;
 
+import com.example.bankcards.dto.response.CardMonthlyStatsResponse;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardMonthlyStats;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -15,8 +18,12 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface CardMapper {
 
+    @Mapping(target = "balance", source = "availableBalance")
     CardResponse toResponse(Card entity);
 
+    @Mapping(target = "month", expression = "java(java.time.YearMonth.from(stats.getMonth()))")
+    CardMonthlyStatsResponse toResponse(CardMonthlyStats stats);
+
     default PageResponse<CardResponse> toPageResponse(Page<Card> page) {
         List<CardResponse> content = page.getContent()
                 .stream()
@@ -0,0 +1,34 @@
+package com.example.bankcards.mapper;
+
+import com.example.bankcards.dto.response.BalanceMismatchResponse;
+import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.ReconciliationRunResponse;
+import com.example.bankcards.entity.BalanceMismatch;
+import com.example.bankcards.entity.ReconciliationRun;
+import org.mapstruct.Mapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+
+/**
+ * Мэппер для преобразования Сущностей сверки балансов в ДТО
+ */
+@Mapper(componentModel = "spring")
+public interface ReconciliationMapper {
+
+    ReconciliationRunResponse toResponse(ReconciliationRun run);
+
+    BalanceMismatchResponse toResponse(BalanceMismatch mismatch);
+
+    default PageResponse<BalanceMismatchResponse> toPageResponse(Page<BalanceMismatch> page) {
+        List<BalanceMismatchResponse> content = page.getContent()
+                .stream()
+                .map(this::toResponse)
+                .toList();
+
+        return PageResponse.of(
+                new PageImpl<>(content, page.getPageable(), page.getTotalElements())
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bankcards.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Фильтр, считающий SQL-запросы на каждый HTTP-запрос.
+ * Пишет распределение bank.http.sql.statements и, при превышении бюджета эндпоинта,
+ * предупреждение в лог и счетчик bank.http.sql.budget.exceeded
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementBudgetProperties properties;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = SqlStatementCounter.count();
+            SqlStatementCounter.reset();
+            record(endpoint(request), statements);
+        }
+    }
+
+    private void record(String endpoint, long statements) {
+        meterRegistry.summary("bank.http.sql.statements", "endpoint", endpoint).record(statements);
+
+        int budget = properties.budgetFor(endpoint);
+        if (statements > budget) {
+            meterRegistry.counter("bank.http.sql.budget.exceeded", "endpoint", endpoint).increment();
+            log.warn("SQL statement budget exceeded for {}: {} statements, budget {}", endpoint, statements, budget);
+        }
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Шаблон пути вместо фактического URI, чтобы не плодить теги
+        return request.getMethod() + " " + (pattern != null ? pattern : UNKNOWN_ENDPOINT);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.bankcards.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Бюджеты количества SQL-запросов на HTTP-запрос.
+ * Ключ эндпоинта - метод и шаблон пути, например "POST /api/transactions/transfer"
+ */
+@Data
+@ConfigurationProperties(prefix = "sql.statement-budget")
+public class SqlStatementBudgetProperties {
+    private boolean enabled = true;
+    private int defaultBudget = 10;
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    /**
+     * Бюджет для эндпоинта или бюджет по умолчанию
+     *
+     * @param endpoint метод и шаблон пути
+     * @return максимальное количество запросов
+     */
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+}
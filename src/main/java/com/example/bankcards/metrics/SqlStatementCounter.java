@@ -0,0 +1,33 @@
+package com.example.bankcards.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector, считающий SQL-запросы текущего потока.
+ * Счетчик сбрасывается в начале HTTP-запроса фильтром {@link SqlStatementBudgetFilter}
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Обнуление счетчика текущего потока
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * Количество запросов в текущем потоке с момента последнего сброса
+     *
+     * @return количество SQL-запросов
+     */
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
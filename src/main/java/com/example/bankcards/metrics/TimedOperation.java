@@ -0,0 +1,19 @@
+package com.example.bankcards.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод сервиса, время выполнения которого пишется в таймер с тегами outcome и exception
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimedOperation {
+
+    /**
+     * Имя таймера
+     */
+    String value();
+}
@@ -0,0 +1,40 @@
+package com.example.bankcards.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Аспект для методов с {@link TimedOperation}. Пишет таймер с тегами:
+ * outcome - SUCCESS или ERROR, exception - простое имя класса исключения или none
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TimedOperationAspect {
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    public static final String OUTCOME_ERROR = "ERROR";
+    public static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(timedOperation)")
+    public Object time(ProceedingJoinPoint joinPoint, TimedOperation timedOperation) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_SUCCESS;
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = OUTCOME_ERROR;
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(timedOperation.value(), "outcome", outcome, "exception", exception));
+        }
+    }
+}
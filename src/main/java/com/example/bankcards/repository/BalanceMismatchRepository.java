@@ -0,0 +1,52 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.BalanceMismatch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Репозиторий расхождений балансов, найденных сверкой
+ */
+@Repository
+public interface BalanceMismatchRepository extends JpaRepository<BalanceMismatch, Long> {
+
+    /**
+     * Поиск и запись расхождений. Баланс по журналу = снимок + проводки после fromEntryId,
+     * поэтому переигрываются только проводки после прошлой контрольной точки.
+     * Баланс карты (вместе с несвернутыми полосами) и проводки читаются одним запросом,
+     * то есть из одного снимка данных БД
+     *
+     * @param runId       ID запуска сверки
+     * @param fromEntryId контрольная точка прошлой сверки
+     * @return количество карт с расхождением
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "balance_mismatches"))
+    @Query(value = "INSERT INTO balance_mismatches (run_id, card_id, card_balance, ledger_balance) " +
+            "SELECT :runId, c.id, c.balance + COALESCE(st.amount, 0), COALESCE(s.balance, 0) + COALESCE(d.delta, 0) " +
+            "FROM cards c " +
+            "LEFT JOIN (SELECT card_id, SUM(amount) AS amount FROM card_balance_stripes GROUP BY card_id) st " +
+            "ON st.card_id = c.id " +
+            "LEFT JOIN balance_snapshots s ON s.card_id = c.id " +
+            "LEFT JOIN (SELECT card_id, SUM(CASE WHEN entry_type = 'DEBIT' THEN -amount ELSE amount END) AS delta " +
+            "           FROM ledger_entries WHERE id > :fromEntryId GROUP BY card_id) d ON d.card_id = c.id " +
+            "WHERE c.balance + COALESCE(st.amount, 0) <> COALESCE(s.balance, 0) + COALESCE(d.delta, 0)",
+            nativeQuery = true)
+    int insertMismatches(@Param("runId") Long runId, @Param("fromEntryId") long fromEntryId);
+
+    /**
+     * Расхождения запуска сверки с пагинацией
+     *
+     * @param runId    ID запуска сверки
+     * @param pageable параметры пагинации
+     */
+    Page<BalanceMismatch> findByRunId(Long runId, Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.BalanceSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Репозиторий снимков балансов карт
+ */
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Перенос снимков на новую контрольную точку: к снимку прибавляются проводки
+     * из диапазона (fromEntryId, checkpointEntryId]. Затрагиваются только карты с проводками в диапазоне
+     *
+     * @param fromEntryId       контрольная точка прошлой сверки
+     * @param checkpointEntryId новая контрольная точка
+     * @return количество обновленных снимков
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "balance_snapshots"))
+    @Query(value = "INSERT INTO balance_snapshots (card_id, balance, entry_id, updated_at) " +
+            "SELECT d.card_id, COALESCE(s.balance, 0) + d.delta, :checkpointEntryId, now() " +
+            "FROM (SELECT card_id, SUM(CASE WHEN entry_type = 'DEBIT' THEN -amount ELSE amount END) AS delta " +
+            "      FROM ledger_entries WHERE id > :fromEntryId AND id <= :checkpointEntryId " +
+            "      GROUP BY card_id) d " +
+            "LEFT JOIN balance_snapshots s ON s.card_id = d.card_id " +
+            "ON CONFLICT (card_id) DO UPDATE SET balance = EXCLUDED.balance, entry_id = EXCLUDED.entry_id, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int advance(@Param("fromEntryId") long fromEntryId, @Param("checkpointEntryId") long checkpointEntryId);
+}
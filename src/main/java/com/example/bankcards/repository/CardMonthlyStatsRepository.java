@@ -0,0 +1,49 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.CardMonthlyStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Репозиторий месячных итогов карт
+ */
+@Repository
+public interface CardMonthlyStatsRepository extends JpaRepository<CardMonthlyStats, CardMonthlyStats.Key> {
+
+    /**
+     * Добавление пачки переводов карты за месяц к ее итогам одним UPSERT
+     *
+     * @param cardId           ID карты
+     * @param month            первый день месяца
+     * @param incoming         сумма зачислений
+     * @param outgoing         сумма списаний
+     * @param transactionCount количество переводов
+     * @param minAmount        наименьшая сумма перевода
+     * @param maxAmount        наибольшая сумма перевода
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "card_monthly_stats"))
+    @Query(value = "INSERT INTO card_monthly_stats (card_id, month, incoming, outgoing, transaction_count, " +
+            "min_amount, max_amount) VALUES (:cardId, :month, :incoming, :outgoing, :transactionCount, " +
+            ":minAmount, :maxAmount) " +
+            "ON CONFLICT (card_id, month) DO UPDATE SET " +
+            "incoming = card_monthly_stats.incoming + EXCLUDED.incoming, " +
+            "outgoing = card_monthly_stats.outgoing + EXCLUDED.outgoing, " +
+            "transaction_count = card_monthly_stats.transaction_count + EXCLUDED.transaction_count, " +
+            "min_amount = LEAST(card_monthly_stats.min_amount, EXCLUDED.min_amount), " +
+            "max_amount = GREATEST(card_monthly_stats.max_amount, EXCLUDED.max_amount)",
+            nativeQuery = true)
+    void addTransfers(@Param("cardId") Long cardId, @Param("month") LocalDate month,
+                      @Param("incoming") BigDecimal incoming, @Param("outgoing") BigDecimal outgoing,
+                      @Param("transactionCount") int transactionCount,
+                      @Param("minAmount") BigDecimal minAmount, @Param("maxAmount") BigDecimal maxAmount);
+}
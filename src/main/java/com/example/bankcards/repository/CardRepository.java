@@ -2,19 +2,28 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.enums.CardStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
+    /**
+     * Пространство запросов для нативных изменений строк карт. На него не отображена ни одна сущность,
+     * поэтому Hibernate не сбрасывает регион карт целиком, а измененные карты вытесняются по id
+     */
+    String BALANCE_QUERY_SPACE = "card_balances";
 
     /**
      * Найти все карты пользователя с пагинацией
@@ -44,13 +53,150 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     // Найти карты по статусу и дате истечения
     List<Card> findByStatusAndExpirationDateBefore(CardStatus status, LocalDate date);
 
-    // Обновление баланса карты (оптимистичная блокировка)
+    /**
+     * Смена статуса без перезаписи остальных колонок строки. Истекшая карта остается EXPIRED
+     *
+     * @return 1, если карта найдена
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE cards SET status = CASE WHEN expiration_date < CURRENT_DATE THEN 'EXPIRED' " +
+            "ELSE :status END WHERE id = :id", nativeQuery = true)
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+    // Включение и выключение полос баланса без перезаписи остальных колонок строки
     @Modifying
-    @Query("UPDATE Card c SET c.balance = c.balance + :amount WHERE c.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE cards SET balance_striped = :enabled WHERE id = :id", nativeQuery = true)
+    void updateBalanceStriped(@Param("id") Long id, @Param("enabled") boolean enabled);
+
+    // Зачисление на основной баланс карты
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE cards SET balance = balance + :amount WHERE id = :id", nativeQuery = true)
     void updateBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
 
+    /**
+     * Списание и зачисление по переводу одним UPDATE. Списание проходит только при достаточном балансе
+     *
+     * @param fromCardId ID карты списания
+     * @param toCardId   ID карты зачисления
+     * @param amount     сумма
+     * @return количество обновленных карт, 2 если перевод применен
+     */
+    // Нативный запрос без пространства запросов сбросил бы весь кэш второго уровня
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE cards SET balance = balance + CASE WHEN id = :toCardId THEN :amount ELSE -:amount END " +
+            "WHERE id IN (:fromCardId, :toCardId) AND (id = :toCardId OR balance >= :amount)", nativeQuery = true)
+    int applyTransfer(@Param("fromCardId") Long fromCardId, @Param("toCardId") Long toCardId,
+                      @Param("amount") BigDecimal amount);
+
+    /**
+     * Списание с карты, только при достаточном балансе
+     *
+     * @return 1, если списание прошло
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE cards SET balance = balance - :amount WHERE id = :id AND balance >= :amount",
+            nativeQuery = true)
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Зачисление в полосу баланса карты, строку карты не блокирует.
+     * Меняет stripedBalance карты, ее нужно вытеснить из кэша
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "INSERT INTO card_balance_stripes (card_id, stripe, amount) VALUES (:id, :stripe, :amount) " +
+            "ON CONFLICT (card_id, stripe) DO UPDATE SET amount = card_balance_stripes.amount + EXCLUDED.amount",
+            nativeQuery = true)
+    void creditStripe(@Param("id") Long id, @Param("stripe") int stripe, @Param("amount") BigDecimal amount);
+
+    /**
+     * Свертка полос в основной баланс одним запросом
+     *
+     * @return количество обновленных карт
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "WITH folded AS (DELETE FROM card_balance_stripes WHERE card_id = :id RETURNING amount) " +
+            "UPDATE cards SET balance = balance + (SELECT COALESCE(SUM(amount), 0) FROM folded) WHERE id = :id",
+            nativeQuery = true)
+    int foldStripes(@Param("id") Long id);
+
+    /**
+     * Блокировка строк карт в порядке id. Берется перед сверткой полос, чтобы встречные переводы
+     * и планировщик свертки захватывали строки карт и полос в одном порядке.
+     * NO KEY UPDATE не мешает проверке внешнего ключа при зачислении в полосы этих карт
+     *
+     * @param ids ID карт
+     * @return ID заблокированных карт
+     */
+    @Query(value = "SELECT id FROM cards WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<Long> lockInIdOrder(@Param("ids") Collection<Long> ids);
+
+    /**
+     * ID карт с несвернутыми зачислениями в полосах
+     */
+    @Query(value = "SELECT DISTINCT card_id FROM card_balance_stripes", nativeQuery = true)
+    List<Long> findCardIdsWithStripes();
+
+    /**
+     * Баланс с учетом полос и статус карт из БД, минуя кэш сущностей текущей транзакции
+     *
+     * @param ids ID карт
+     */
+    @Query(value = "SELECT c.id AS id, c.balance + COALESCE((SELECT SUM(s.amount) FROM card_balance_stripes s " +
+            "WHERE s.card_id = c.id), 0) AS balance, c.status AS status FROM cards c WHERE c.id IN (:ids)",
+            nativeQuery = true)
+    List<CardBalanceView> findBalancesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Баланс с учетом полос и статус всех карт пользователя
+     *
+     * @param ownerId ID пользователя
+     */
+    @Query(value = "SELECT c.id AS id, c.balance + COALESCE((SELECT SUM(s.amount) FROM card_balance_stripes s " +
+            "WHERE s.card_id = c.id), 0) AS balance, c.status AS status FROM cards c WHERE c.owner_id = :ownerId " +
+            "ORDER BY c.id", nativeQuery = true)
+    List<CardBalanceView> findBalancesByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Версия карты для ETag без загрузки сущности: версия строки и сумма полос.
+     * Полосы только пополняются, а свертка меняет версию строки, поэтому пара не повторяется
+     *
+     * @param id ID карты
+     */
+    @Query(value = "SELECT c.version || '-' || COALESCE((SELECT SUM(s.amount) FROM card_balance_stripes s " +
+            "WHERE s.card_id = c.id), 0) FROM cards c WHERE c.id = :id", nativeQuery = true)
+    Optional<String> findVersionById(@Param("id") Long id);
+
+    /**
+     * Версия набора карт пользователя для ETag: число карт, последний ID, сумма версий строк и сумма полос
+     *
+     * @param ownerId ID пользователя
+     */
+    @Query(value = "SELECT COUNT(*) || '-' || COALESCE(MAX(c.id), 0) || '-' || COALESCE(SUM(c.version), 0) || '-' || " +
+            "COALESCE(SUM(s.amount), 0) FROM cards c LEFT JOIN LATERAL (SELECT SUM(amount) AS amount " +
+            "FROM card_balance_stripes WHERE card_id = c.id) s ON TRUE WHERE c.owner_id = :ownerId",
+            nativeQuery = true)
+    String findVersionByOwnerId(@Param("ownerId") Long ownerId);
+
     List<Card> findByOwnerIdAndBalanceBetween(
             @Param("ownerId") Long ownerId, @Param("min") BigDecimal min, @Param("max") BigDecimal max);
 
     Optional<Card> findByIdAndOwnerId(Long cardId, Long userId);
+
+    /**
+     * Баланс и статус карты
+     */
+    interface CardBalanceView {
+        Long getId();
+
+        BigDecimal getBalance();
+
+        String getStatus();
+    }
 }
@@ -0,0 +1,62 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.IdempotencyKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Репозиторий ключей идемпотентности
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    /**
+     * Захват ключа. Если тот же ключ вставляет параллельная транзакция, запрос ждет ее завершения
+     *
+     * @param userId         ID пользователя
+     * @param idempotencyKey ключ
+     * @param requestHash    хэш запроса
+     * @param createdAt      время создания
+     * @return 1, если ключ захвачен, 0 если он уже был
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, created_at) " +
+            "VALUES (:userId, :idempotencyKey, :requestHash, :createdAt) " +
+            "ON CONFLICT (user_id, idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("userId") Long userId, @Param("idempotencyKey") String idempotencyKey,
+              @Param("requestHash") String requestHash, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Привязка транзакции к захваченному ключу
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.transactionId = :transactionId " +
+            "WHERE k.userId = :userId AND k.idempotencyKey = :idempotencyKey")
+    void bindTransaction(@Param("userId") Long userId, @Param("idempotencyKey") String idempotencyKey,
+                         @Param("transactionId") Long transactionId);
+
+    /**
+     * Ключ пользователя с хэшем запроса и созданной по нему транзакцией
+     */
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Удаление ключей старше указанного времени
+     *
+     * @return количество удаленных ключей
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "DELETE FROM idempotency_keys WHERE created_at < :before", nativeQuery = true)
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
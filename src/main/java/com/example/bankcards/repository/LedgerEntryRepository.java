@@ -0,0 +1,73 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.LedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Репозиторий журнала проводок
+ */
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    /**
+     * Запись списания и зачисления по переводу одним INSERT
+     *
+     * @param transactionId ID транзакции
+     * @param fromCardId    ID карты списания
+     * @param toCardId      ID карты зачисления
+     * @param amount        сумма
+     * @param createdAt     время проводки
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ledger_entries"))
+    @Query(value = "INSERT INTO ledger_entries (transaction_id, card_id, entry_type, amount, created_at) VALUES " +
+            "(:transactionId, :fromCardId, 'DEBIT', :amount, :createdAt), " +
+            "(:transactionId, :toCardId, 'CREDIT', :amount, :createdAt)", nativeQuery = true)
+    void insertTransferEntries(@Param("transactionId") Long transactionId, @Param("fromCardId") Long fromCardId,
+                               @Param("toCardId") Long toCardId, @Param("amount") BigDecimal amount,
+                               @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Последняя проводка после fromEntryId, созданная раньше cutoff. Свежие проводки пропускаются,
+     * чтобы незакоммиченные транзакции с меньшим id не оказались за контрольной точкой
+     *
+     * @param fromEntryId контрольная точка прошлой сверки
+     * @param cutoff      граница времени создания проводки
+     * @return ID новой контрольной точки, fromEntryId если новых проводок нет
+     */
+    @Query(value = "SELECT COALESCE(MAX(id), :fromEntryId) FROM ledger_entries " +
+            "WHERE id > :fromEntryId AND created_at < :cutoff", nativeQuery = true)
+    long findSettledCheckpoint(@Param("fromEntryId") long fromEntryId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Баланс карты по журналу
+     *
+     * @param cardId ID карты
+     * @return сумма проводок, 0 если проводок нет
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.entryType = com.example.bankcards.entity.enums.LedgerEntryType.DEBIT " +
+            "THEN -e.amount ELSE e.amount END), 0) FROM LedgerEntry e WHERE e.card.id = :cardId")
+    BigDecimal sumByCardId(@Param("cardId") Long cardId);
+
+    /**
+     * Баланс карты по журналу на момент времени
+     *
+     * @param cardId ID карты
+     * @param before граница, проводки с этого момента не учитываются
+     * @return сумма проводок до before, 0 если проводок нет
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.entryType = com.example.bankcards.entity.enums.LedgerEntryType.DEBIT " +
+            "THEN -e.amount ELSE e.amount END), 0) FROM LedgerEntry e " +
+            "WHERE e.card.id = :cardId AND e.createdAt < :before")
+    BigDecimal sumByCardIdBefore(@Param("cardId") Long cardId, @Param("before") LocalDateTime before);
+}
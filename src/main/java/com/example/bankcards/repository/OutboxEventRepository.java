@@ -0,0 +1,24 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Репозиторий outbox событий
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Первые неопубликованные события с блокировкой. Занятые другим экземпляром приложения пропускаются
+     *
+     * @param limit размер пачки
+     */
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,30 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.ReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий запусков сверки
+ */
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    /**
+     * Последний запуск сверки
+     */
+    Optional<ReconciliationRun> findTopByOrderByIdDesc();
+
+    /**
+     * Advisory-блокировка Postgres до конца транзакции, чтобы сверки не шли параллельно
+     *
+     * @param key ключ блокировки
+     * @return true, если блокировка получена
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLock(@Param("key") long key);
+}
@@ -1,29 +1,29 @@
 package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.entity.enums.TransactionStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 /**
- * Репозиторий для работы с транзакциями
+ * Репозиторий для работы с транзакциями. История с фильтрами строится через {@link TransactionSpecifications}
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-
-    /**
-     * Найти все транзакции пользователя (как отправителя, так и получателя) с пагинацией
-     *
-     * @param userId   ID пользователя
-     * @param pageable параметры пагинации
-     * @return страница с транзакциями пользователя
-     */
-    @Query("SELECT t FROM Transaction t " +
-            "WHERE t.fromCard.owner.id = :userId OR t.toCard.owner.id = :userId")
-    Page<Transaction> findByUserId(@Param("userId") Long userId, Pageable pageable);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+        JpaSpecificationExecutor<Transaction> {
 
     /**
      * Найти все транзакции по карте (исходящие и входящие) с пагинацией
@@ -36,4 +36,49 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             "WHERE t.fromCard.id = :cardId OR t.toCard.id = :cardId")
     Page<Transaction> findByCardId(@Param("cardId") Long cardId, Pageable pageable);
 
+    /**
+     * Найти транзакцию вместе с картой отправителя, для проверки владельца
+     *
+     * @param id ID транзакции
+     */
+    @EntityGraph(attributePaths = "fromCard")
+    Optional<Transaction> findWithFromCardById(Long id);
+
+    /**
+     * Найти транзакцию с блокировкой строки, чтобы один перевод не обработали дважды
+     *
+     * @param id ID транзакции
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Transaction> findForUpdateById(Long id);
+
+    /**
+     * ID транзакций в статусе, созданных раньше указанного времени.
+     * PENDING в журнал не попадает: проводки пишутся вместе с переходом в COMPLETED
+     *
+     * @param status   статус
+     * @param before   граница времени создания
+     * @param pageable ограничение количества
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.status = :status AND t.transactionDate < :before ORDER BY t.id")
+    List<Long> findIdsByStatusBefore(@Param("status") TransactionStatus status,
+                                     @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Создание месячной секции transactions, если ее еще нет
+     *
+     * @param month любой день месяца
+     * @return true, если секция создана
+     */
+    @Query(value = "SELECT create_transactions_partition(CAST(:month AS date))", nativeQuery = true)
+    boolean createPartition(@Param("month") LocalDate month);
+
+    /**
+     * Отсоединение месячных секций, целиком лежащих раньше границы, и перенос их в схему archive
+     *
+     * @param before граница, секции с концом не позже нее уходят в архив
+     * @return количество перенесенных секций
+     */
+    @Query(value = "SELECT archive_transactions_partitions(CAST(:before AS date))", nativeQuery = true)
+    int archivePartitionsBefore(@Param("before") LocalDate before);
 }
\ No newline at end of file
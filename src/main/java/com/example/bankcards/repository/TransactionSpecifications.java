@@ -0,0 +1,71 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.request.TransactionFilter;
+import com.example.bankcards.entity.Transaction;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Условия выборки истории транзакций для TransactionRepository
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Транзакции пользователя, как отправителя, так и получателя
+     *
+     * @param userId ID пользователя
+     */
+    public static Specification<Transaction> byUser(Long userId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("fromCard").get("owner").get("id"), userId),
+                cb.equal(root.get("toCard").get("owner").get("id"), userId));
+    }
+
+    /**
+     * Транзакции по карте, исходящие и входящие
+     *
+     * @param cardId ID карты
+     */
+    public static Specification<Transaction> byCard(Long cardId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("fromCard").get("id"), cardId),
+                cb.equal(root.get("toCard").get("id"), cardId));
+    }
+
+    /**
+     * Условия из фильтра. Период задается полуинтервалом по transaction_date,
+     * чтобы работали индексы по дате и отсечение месячных секций
+     *
+     * @param filter фильтры, null без ограничений
+     */
+    public static Specification<Transaction> matches(TransactionFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return cb.and();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("transactionDate"), filter.getFrom().atStartOfDay()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("transactionDate"), filter.getTo().plusDays(1).atStartOfDay()));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.getMinAmount()));
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.getMaxAmount()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
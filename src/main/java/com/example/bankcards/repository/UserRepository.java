@@ -2,9 +2,13 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.UserStatus;
+import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -40,4 +44,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Page<User> findByStatus(UserStatus status, Pageable pageable);
 
+    /**
+     * Обновление хэша пароля без загрузки сущности
+     *
+     * @param username        имя пользователя
+     * @param encodedPassword новый хэш пароля
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    void updatePassword(@Param("username") String username, @Param("password") String encodedPassword);
+
+    /**
+     * Версия строки пользователя для ETag без загрузки сущности
+     *
+     * @param id ID пользователя
+     */
+    @Query(value = "SELECT version FROM users WHERE id = :id", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("id") Long id);
+
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.example.bankcards.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Подбор стоимости BCrypt под целевое время хэширования на текущем железе
+ */
+@Slf4j
+@Component
+public class BCryptStrengthCalibrator {
+    private static final String SAMPLE_PASSWORD = "calibration_password";
+
+    // Время одного хэширования в мс для заданной стоимости
+    private final IntToLongFunction hashTimer;
+
+    @Value("${password.encoder.target-millis:150}")
+    private long targetMillis;
+
+    @Value("${password.encoder.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password.encoder.max-strength:16}")
+    private int maxStrength;
+
+    @Value("${password.encoder.samples:3}")
+    private int samples;
+
+    public BCryptStrengthCalibrator() {
+        this(BCryptStrengthCalibrator::hashMillis);
+    }
+
+    /**
+     * @param hashTimer время одного хэширования в мс для заданной стоимости
+     */
+    BCryptStrengthCalibrator(IntToLongFunction hashTimer) {
+        this.hashTimer = hashTimer;
+    }
+
+    /**
+     * Замеряет время хэширования, начиная с минимальной стоимости, и останавливается
+     * на стоимости, время которой ближе всего к целевому. Время стоимости - медиана
+     * нескольких замеров, чтобы одна пауза GC или соседний процесс не сдвигали выбор
+     *
+     * @return подобранная стоимость BCrypt
+     */
+    public int calibrate() {
+        // Прогрев, чтобы первый замер не включал JIT
+        hashTimer.applyAsLong(minStrength);
+
+        int strength = minStrength;
+        long previousMillis = 0;
+        while (strength <= maxStrength) {
+            long elapsedMillis = medianMillis(strength);
+            if (elapsedMillis >= targetMillis) {
+                boolean previousIsCloser = strength > minStrength
+                        && targetMillis - previousMillis < elapsedMillis - targetMillis;
+                int chosen = previousIsCloser ? strength - 1 : strength;
+                log.info("BCrypt strength {} chosen for target {} ms", chosen, targetMillis);
+                return chosen;
+            }
+            previousMillis = elapsedMillis;
+            strength++;
+        }
+
+        log.info("BCrypt target {} ms not reached, using max strength {}", targetMillis, maxStrength);
+        return maxStrength;
+    }
+
+    private long medianMillis(int strength) {
+        long[] millis = new long[Math.max(1, samples)];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = hashTimer.applyAsLong(strength);
+        }
+        Arrays.sort(millis);
+        return millis[millis.length / 2];
+    }
+
+    private static long hashMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
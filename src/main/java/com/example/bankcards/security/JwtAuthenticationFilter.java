@@ -1,5 +1,8 @@
 package com.example.bankcards.security;
 
+import com.example.bankcards.metrics.TimedOperationAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,8 +29,10 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public static final String BEARER_PREFIX = "Bearer ";
     public static final String HEADER_NAME = "Authorization";
+    private static final String TIMER_NAME = "bank.auth.jwt-filter";
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -43,8 +48,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Обрезаем префикс и получаем имя пользователя из токена
+        // Обрезаем префикс и аутентифицируем пользователя, замеряя время проверки токена
         var jwt = authHeader.substring(BEARER_PREFIX.length());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = TimedOperationAspect.OUTCOME_SUCCESS;
+        String exception = TimedOperationAspect.NO_EXCEPTION;
+        try {
+            authenticate(jwt, request);
+        } catch (RuntimeException e) {
+            outcome = TimedOperationAspect.OUTCOME_ERROR;
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(TIMER_NAME, "outcome", outcome, "exception", exception));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String jwt, HttpServletRequest request) {
         var username = jwtService.extractUserName(jwt);
 
         if (StringUtils.hasText(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -66,6 +87,5 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.setContext(context);
             }
         }
-        filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничение частоты входа и регистрации по IP и по паре IP и имя пользователя.
+ * Проверка выполняется до любого хэширования пароля, чтобы перебор не занимал CPU.
+ * Лимит имени считается отдельно для каждого IP: общий на имя лимит позволил бы постороннему
+ * заблокировать вход владельцу, исчерпав его попытками с неверным паролем.
+ * Имя пользователя приводится к нижнему регистру без пробелов по краям,
+ * иначе варианты написания одного имени получали бы отдельные лимиты
+ */
+@Component
+public class LoginRateLimiter {
+    private static final String IP_KEY_PREFIX = "ip:";
+    private static final String USERNAME_KEY_PREFIX = "user:";
+    private static final String KEY_SEPARATOR = "|";
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextSweepAt;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.ip.capacity:20}")
+    private long ipCapacity;
+
+    @Value("${auth.rate-limit.ip.refill-per-minute:20}")
+    private long ipRefillPerMinute;
+
+    @Value("${auth.rate-limit.username.capacity:5}")
+    private long usernameCapacity;
+
+    @Value("${auth.rate-limit.username.refill-per-minute:5}")
+    private long usernameRefillPerMinute;
+
+    @Value("${auth.rate-limit.max-entries:100000}")
+    private int maxEntries;
+
+    public LoginRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock источник времени в наносекундах
+     */
+    LoginRateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.nextSweepAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Проверка лимитов перед входом
+     *
+     * @param clientIp IP клиента
+     * @param username имя пользователя из запроса
+     * @throws TooManyRequestsException если лимит исчерпан
+     */
+    public void checkSignIn(String clientIp, String username) {
+        checkIp(clientIp);
+        consume(USERNAME_KEY_PREFIX + clientIp + KEY_SEPARATOR + normalize(username),
+                usernameCapacity, usernameRefillPerMinute);
+    }
+
+    /**
+     * Проверка лимита перед регистрацией
+     *
+     * @param clientIp IP клиента
+     * @throws TooManyRequestsException если лимит исчерпан
+     */
+    public void checkSignUp(String clientIp) {
+        checkIp(clientIp);
+    }
+
+    private void checkIp(String clientIp) {
+        consume(IP_KEY_PREFIX + clientIp, ipCapacity, ipRefillPerMinute);
+    }
+
+    private void consume(String key, long capacity, long refillPerMinute) {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        // Очистка до получения бакета: новый бакет полон и иначе удалялся бы вместе с первой попыткой
+        evictIdleIfFull(now);
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerMinute, now));
+
+        if (!bucket.tryConsume(now)) {
+            throw new TooManyRequestsException("Слишком много попыток, повторите позже");
+        }
+    }
+
+    /**
+     * Удаляет полностью восстановившиеся бакеты, если карта разрослась.
+     * Не чаще одного раза в SWEEP_INTERVAL_NANOS
+     */
+    private void evictIdleIfFull(long now) {
+        long sweepAt = nextSweepAt.get();
+        if (buckets.size() <= maxEntries || now - sweepAt < 0
+                || !nextSweepAt.compareAndSet(sweepAt, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.bankcards.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Неблокирующий token bucket: состояние меняется целиком через CAS
+ */
+final class TokenBucket {
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, long refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Забирает один токен, если он есть
+     *
+     * @param nowNanos текущее время System.nanoTime()
+     * @return true, если токен получен
+     */
+    boolean tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = refilled(current, nowNanos);
+            if (tokens < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Бакет полностью восстановился, его можно удалить без потери информации
+     *
+     * @param nowNanos текущее время System.nanoTime()
+     */
+    boolean isFull(long nowNanos) {
+        return refilled(state.get(), nowNanos) >= capacity;
+    }
+
+    private double refilled(State current, long nowNanos) {
+        return Math.min(capacity, current.tokens() + (nowNanos - current.updatedAt()) * tokensPerNano);
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
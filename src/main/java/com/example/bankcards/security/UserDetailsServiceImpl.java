@@ -1,8 +1,10 @@
 package com.example.bankcards.security;
 
+import com.example.bankcards.entity.User;
 import com.example.bankcards.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,7 +14,7 @@ import org.springframework.stereotype.Service;
  */
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     @Override
@@ -20,4 +22,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Перехэширование пароля при успешном входе, если хэш устарел.
+     * Вызывается DaoAuthenticationProvider, когда PasswordEncoder.upgradeEncoding вернул true
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.updatePassword(userDetails.getUsername(), newPassword);
+        if (userDetails instanceof User user) {
+            user.setPassword(newPassword);
+        }
+        return userDetails;
+    }
+}
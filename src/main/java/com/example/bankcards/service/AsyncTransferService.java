@@ -0,0 +1,32 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.TooManyRequestsException;
+
+import java.math.BigDecimal;
+
+/**
+ * Асинхронные переводы: запрос только сохраняет перевод, деньги двигает ограниченный пул обработчиков
+ */
+public interface AsyncTransferService {
+
+    /**
+     * Проверка и постановка перевода в очередь
+     *
+     * @param userId      Id пользователя, выполняющего перевод
+     * @param fromCardId  Id карты с которой совершаем перевод
+     * @param toCardId    Id карты на которую совершаем перевод
+     * @param amount      Сумма
+     * @param description Описание тразнакции
+     * @return транзакция в статусе PENDING
+     * @throws TooManyRequestsException если очередь переводов заполнена
+     */
+    Transaction submitTransfer(Long userId, Long fromCardId, Long toCardId, BigDecimal amount, String description);
+
+    /**
+     * Повторная постановка в очередь переводов, зависших в PENDING
+     *
+     * @return количество поставленных переводов
+     */
+    int resubmitStalePending();
+}
@@ -0,0 +1,123 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Имплементация асинхронных переводов. Место в очереди резервируется до сохранения перевода,
+ * поэтому при переполнении клиент получает отказ, а не зависший PENDING
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncTransferServiceImpl implements AsyncTransferService {
+    private final TransactionService transactionService;
+
+    @Value("${transfer.async.pool-size:4}")
+    private int poolSize;
+
+    @Value("${transfer.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${transfer.async.stale-after-seconds:60}")
+    private long staleAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore slots;
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("transfer-worker-"));
+        // Слотов не больше, чем потоков и мест в очереди, поэтому executor никогда не отклоняет задачу
+        slots = new Semaphore(poolSize + queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Transaction submitTransfer(Long userId, Long fromCardId, Long toCardId,
+                                      BigDecimal amount, String description) {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Очередь переводов заполнена, повторите позже");
+        }
+        Transaction transaction;
+        try {
+            transaction = transactionService.createPendingTransfer(userId, fromCardId, toCardId, amount, description);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        dispatch(transaction.getId());
+        return transaction;
+    }
+
+    @Override
+    public int resubmitStalePending() {
+        int available = slots.availablePermits();
+        if (available == 0) {
+            return 0;
+        }
+        LocalDateTime before = LocalDateTime.now().minusSeconds(staleAfterSeconds);
+        int submitted = 0;
+        // Повторная обработка безопасна: перевод блокируется и проводится, только пока он в PENDING
+        for (Long transactionId : transactionService.getStalePendingTransferIds(before, available)) {
+            if (!slots.tryAcquire()) {
+                break;
+            }
+            executor.execute(() -> process(transactionId));
+            submitted++;
+        }
+        return submitted;
+    }
+
+    // Внутри внешней транзакции БД (например, с ключом идемпотентности) обработчик запускается после коммита,
+    // иначе он не увидит перевод. При откате место в очереди освобождается
+    private void dispatch(Long transactionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> process(transactionId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    executor.execute(() -> process(transactionId));
+                } else {
+                    slots.release();
+                }
+            }
+        });
+    }
+
+    private void process(Long transactionId) {
+        try {
+            transactionService.completePendingTransfer(transactionId);
+        } catch (RuntimeException e) {
+            log.warn("Async transfer {} failed: {}", transactionId, e.getMessage());
+            transactionService.failPendingTransfer(transactionId);
+        } finally {
+            slots.release();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.bankcards.service;
 
 import com.example.bankcards.entity.User;
+import com.example.bankcards.metrics.TimedOperation;
 import com.example.bankcards.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +15,6 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl {
     private final UserService userService;
-    private final UserDetailsService userDetailsService;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
@@ -31,13 +32,22 @@ public class AuthenticationServiceImpl {
         return jwtService.generateToken(createdUser);
     }
 
+    /**
+     * Аутентификация пользователя. Пользователь уже загружен провайдером аутентификации,
+     * поэтому токен строится по principal, без повторного запроса в БД
+     *
+     * @param username Имя пользователя
+     * @param password Пароль
+     * @return токен
+     */
+    @TimedOperation("bank.auth.sign-in")
     public String signIn(String username, String password) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                 username,
                 password
         ));
 
-        var user = userDetailsService.loadUserByUsername(username);
+        var user = (UserDetails) authentication.getPrincipal();
 
         return jwtService.generateToken(user);
     }
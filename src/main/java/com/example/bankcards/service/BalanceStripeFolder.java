@@ -0,0 +1,22 @@
+package com.example.bankcards.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Периодическая свертка полос баланса в основной баланс карт.
+ * Каждая карта сворачивается в своей транзакции, строка карты блокируется ненадолго
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceStripeFolder {
+    private final LedgerService ledgerService;
+
+    @Scheduled(fixedDelayString = "${card.balance-stripes.fold-interval-ms:5000}")
+    public void foldAll() {
+        for (Long cardId : ledgerService.getCardsWithStripes()) {
+            ledgerService.foldStripes(cardId);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Вытеснение карт из кэша второго уровня после нативных изменений строк карт мимо Hibernate
+ */
+@Component
+@RequiredArgsConstructor
+public class CardCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Вытесняет карты сразу и повторно после завершения транзакции, иначе параллельное чтение
+     * может вернуть в кэш строку до коммита
+     *
+     * @param cardIds ID измененных карт
+     */
+    public void evict(Collection<Long> cardIds) {
+        Cache cache = entityManagerFactory.getCache();
+        cardIds.forEach(cardId -> cache.evict(Card.class, cardId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cardIds.forEach(cardId -> cache.evict(Card.class, cardId));
+                }
+            });
+        }
+    }
+}
@@ -8,7 +8,6 @@ import com.example.bankcards.exception.UserNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.math.BigDecimal;
 
 public interface CardService {
 
@@ -41,16 +40,6 @@ public interface CardService {
      */
     Card blockCard(Long cardId);
 
-    /**
-     * Обновление баланса карты
-     *
-     * @param cardId  ID карты
-     * @param balance новый статус карты
-     * @return обновленная карта
-     * @throws CardNotFoundException если карта не найдена
-     */
-    Card updateCardBalance(Long cardId, BigDecimal balance);
-
     /**
      * Получение карты по ID с проверкой владельца
      *
@@ -70,6 +59,23 @@ public interface CardService {
      */
     Card getCardById(Long cardId);
 
+    /**
+     * Версия карты для ETag, без загрузки сущности
+     *
+     * @param cardId ID карты
+     * @return версия, меняется при любом изменении карты или ее баланса
+     * @throws CardNotFoundException если карта не найдена
+     */
+    String getCardVersion(Long cardId);
+
+    /**
+     * Версия всех карт пользователя для ETag, без загрузки сущностей
+     *
+     * @param userId ID пользователя
+     * @return версия, меняется при создании, удалении или изменении любой карты пользователя
+     */
+    String getUserCardsVersion(Long userId);
+
     /**
      * Получение всех карт пользователя с пагинацией
      *
@@ -106,6 +112,17 @@ public interface CardService {
      */
     Page<Card> getUserCardsByStatus(Long userId, CardStatus status, Pageable pageable);
 
+    /**
+     * Включение и выключение полос баланса для карты (только для ADMIN).
+     * Зачисления на карту с полосами не блокируют строку карты, что снимает конкуренцию на популярных картах
+     *
+     * @param cardId  ID карты
+     * @param enabled включить полосы
+     * @return обновленная карта
+     * @throws CardNotFoundException если карта не найдена
+     */
+    Card updateBalanceStriping(Long cardId, boolean enabled);
+
     /**
      * Удаление карты
      *
@@ -2,12 +2,15 @@ package com.example.bankcards.service;
 
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.OutboxEventType;
 import com.example.bankcards.exception.CardHasBalanceException;
 import com.example.bankcards.exception.CardHasTransactionsException;
 import com.example.bankcards.exception.CardNotFoundException;
+import com.example.bankcards.metrics.TimedOperation;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.TransactionRepository;
 import com.example.bankcards.util.CardNumberUtil;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,6 +21,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Имплементация сервиса для работы с картами
@@ -30,9 +34,15 @@ public class CardServiceImpl implements CardService {
     private final UserService userService;
     private final CardNumberUtil cardNumberUtil;
     private final TransactionRepository transactionRepository;
+    private final LedgerService ledgerService;
+    private final OutboxService outboxService;
+    private final CardStreamService cardStreamService;
+    private final CardCacheEvictor cardCacheEvictor;
 
     @Override
     @PreAuthorize("@userSecurity.isOwnerOrAdmin(#userId)")
+    @TimedOperation("bank.card.create")
+    @Transactional
     public Card createCard(String cardHolder, Long userId) {
         String cardNumber = cardNumberUtil.generateCardNumber();
         Card card = Card.builder()
@@ -45,32 +55,24 @@ public class CardServiceImpl implements CardService {
                 .expirationDate(LocalDate.now().plusYears(CARD_EXPIRY_YEARS))
                 .build();
 
-        return cardRepository.save(card);
+        Card saved = cardRepository.save(card);
+        outboxService.recordCardEvent(OutboxEventType.CARD_CREATED, saved);
+        cardStreamService.publishAfterCommit(userId, List.of(saved.getId()));
+        return saved;
     }
 
     @Override
     @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#cardId)")
+    @Transactional
     public Card blockCard(Long cardId) {
-        Card card = getCardById(cardId);
-
-        card.setStatus(CardStatus.BLOCKED);
-        return cardRepository.save(card);
+        return changeStatus(cardId, CardStatus.BLOCKED);
     }
 
     @Override
     @PreAuthorize("@userSecurity.hasAdminRole()")
+    @Transactional
     public Card updateCardStatusByAdmin(Long cardId, CardStatus status) {
-        Card card = getCardById(cardId);
-        card.setStatus(status);
-        return cardRepository.save(card);
-    }
-
-    @Override
-    @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#cardId)")
-    public Card updateCardBalance(Long cardId, BigDecimal balance) {
-        Card card = getCardById(cardId);
-        card.setBalance(balance);
-        return cardRepository.save(card);
+        return changeStatus(cardId, status);
     }
 
     @Override
@@ -105,12 +107,30 @@ public class CardServiceImpl implements CardService {
         return cardRepository.findByOwnerIdAndStatus(userId, status, pageable);
     }
 
+    @Override
+    @PreAuthorize("@userSecurity.hasAdminRole()")
+    @Transactional
+    public Card updateBalanceStriping(Long cardId, boolean enabled) {
+        // Строка карты блокируется до смены флага: свертка планировщиком или перевод ждут коммита
+        if (cardRepository.lockInIdOrder(List.of(cardId)).isEmpty()) {
+            throw new CardNotFoundException("Карта не найдена с ID: " + cardId);
+        }
+        cardRepository.updateBalanceStriped(cardId, enabled);
+        cardCacheEvictor.evict(List.of(cardId));
+        // После выключения новые зачисления идут в основной баланс, накопленное в полосах сворачиваем
+        // в той же транзакции
+        if (!enabled) {
+            ledgerService.foldStripes(cardId);
+        }
+        return getCardById(cardId);
+    }
+
     @Override
     @PreAuthorize("@userSecurity.hasAdminRole()")
     public void deleteCard(Long cardId, Long userId) {
         Card card = getCardByIdAndOwner(cardId, userId);
 
-        if (card.getBalance().compareTo(BigDecimal.ZERO) > 0) {
+        if (card.getAvailableBalance().compareTo(BigDecimal.ZERO) > 0) {
             throw new CardHasBalanceException("Нельзя удалить карту с положительным балансом");
         }
 
@@ -136,5 +156,31 @@ public class CardServiceImpl implements CardService {
                 .orElseThrow(() -> new CardNotFoundException("Карта не найдена с ID: " + cardId));
     }
 
+    @Override
+    @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#cardId)")
+    public String getCardVersion(Long cardId) {
+        return cardRepository.findVersionById(cardId)
+                .orElseThrow(() -> new CardNotFoundException("Карта не найдена с ID: " + cardId));
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.isOwnerOrAdmin(#userId)")
+    public String getUserCardsVersion(Long userId) {
+        return cardRepository.findVersionByOwnerId(userId);
+    }
 
+    /**
+     * Смена статуса точечным UPDATE. Карта читается уже после него: строка заблокирована этой транзакцией,
+     * поэтому баланс в ответе и в событии не старше последнего перевода
+     */
+    private Card changeStatus(Long cardId, CardStatus status) {
+        if (cardRepository.updateStatus(cardId, status.name()) == 0) {
+            throw new CardNotFoundException("Карта не найдена с ID: " + cardId);
+        }
+        cardCacheEvictor.evict(List.of(cardId));
+        Card card = getCardById(cardId);
+        outboxService.recordCardEvent(OutboxEventType.CARD_STATUS_CHANGED, card);
+        cardStreamService.publishAfterCommit(card.getOwner().getId(), List.of(cardId));
+        return card;
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.entity.CardMonthlyStats;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Сервис месячных итогов по картам для выписок
+ */
+public interface CardStatsService {
+
+    /**
+     * Учет пачки завершенных переводов в итогах карт отправителя и получателя за месяц перевода.
+     * Вызывается ретранслятором outbox после коммита переводов, поэтому строка итогов
+     * не блокируется в транзакции перевода и пишется один раз на карту и месяц пачки
+     *
+     * @param transfers завершенные переводы
+     */
+    void recordTransfers(List<TransactionResponse> transfers);
+
+    /**
+     * Итоги карты за месяц. Если переводов в месяце не было, суммы нулевые.
+     * Закрывающий баланс - текущий баланс карты минус переводы следующих месяцев
+     *
+     * @param cardId ID карты
+     * @param month  месяц
+     * @return итоги за месяц
+     */
+    CardMonthlyStats getMonthlyStats(Long cardId, YearMonth month);
+}
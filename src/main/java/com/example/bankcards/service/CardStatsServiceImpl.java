@@ -0,0 +1,83 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.entity.CardMonthlyStats;
+import com.example.bankcards.exception.CardNotFoundException;
+import com.example.bankcards.repository.CardMonthlyStatsRepository;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Имплементация сервиса месячных итогов по картам
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CardStatsServiceImpl implements CardStatsService {
+    private final CardMonthlyStatsRepository cardMonthlyStatsRepository;
+    private final CardRepository cardRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    @Override
+    public void recordTransfers(List<TransactionResponse> transfers) {
+        // Ключи по порядку: параллельные ретрансляторы блокируют строки итогов в одном порядке
+        Map<CardMonthlyStats.Key, CardMonthlyStats> totals = new TreeMap<>(Comparator
+                .comparing(CardMonthlyStats.Key::getCardId)
+                .thenComparing(CardMonthlyStats.Key::getMonth));
+        for (TransactionResponse transfer : transfers) {
+            LocalDate month = transfer.getTransactionDate().toLocalDate().withDayOfMonth(1);
+            add(totals, transfer.getFromCardId(), month, BigDecimal.ZERO, transfer.getAmount());
+            add(totals, transfer.getToCardId(), month, transfer.getAmount(), BigDecimal.ZERO);
+        }
+        totals.values().forEach(stats -> cardMonthlyStatsRepository.addTransfers(stats.getCardId(), stats.getMonth(),
+                stats.getIncoming(), stats.getOutgoing(), stats.getTransactionCount(),
+                stats.getMinAmount(), stats.getMaxAmount()));
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#cardId)")
+    public CardMonthlyStats getMonthlyStats(Long cardId, YearMonth month) {
+        LocalDate monthStart = month.atDay(1);
+        CardMonthlyStats stats = cardMonthlyStatsRepository.findById(new CardMonthlyStats.Key(cardId, monthStart))
+                .orElseGet(() -> CardMonthlyStats.builder()
+                        .cardId(cardId)
+                        .month(monthStart)
+                        .incoming(BigDecimal.ZERO)
+                        .outgoing(BigDecimal.ZERO)
+                        .build());
+        if (!cardRepository.existsById(cardId)) {
+            throw new CardNotFoundException("Карта не найдена с ID: " + cardId);
+        }
+        // Журнал пишется в транзакции перевода, поэтому баланс на конец месяца точный и не ждет outbox
+        stats.setClosingBalance(ledgerEntryRepository.sumByCardIdBefore(cardId,
+                month.plusMonths(1).atDay(1).atStartOfDay()));
+        return stats;
+    }
+
+    private static void add(Map<CardMonthlyStats.Key, CardMonthlyStats> totals, Long cardId, LocalDate month,
+                            BigDecimal incoming, BigDecimal outgoing) {
+        BigDecimal amount = incoming.add(outgoing);
+        totals.merge(new CardMonthlyStats.Key(cardId, month),
+                new CardMonthlyStats(cardId, month, incoming, outgoing, 1, amount, amount, null),
+                (stats, transfer) -> {
+                    stats.setIncoming(stats.getIncoming().add(transfer.getIncoming()));
+                    stats.setOutgoing(stats.getOutgoing().add(transfer.getOutgoing()));
+                    stats.setTransactionCount(stats.getTransactionCount() + 1);
+                    stats.setMinAmount(stats.getMinAmount().min(amount));
+                    stats.setMaxAmount(stats.getMaxAmount().max(amount));
+                    return stats;
+                });
+    }
+}
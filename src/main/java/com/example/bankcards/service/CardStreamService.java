@@ -0,0 +1,29 @@
+package com.example.bankcards.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+/**
+ * Поток изменений баланса и статуса карт пользователя (Server-Sent Events)
+ */
+public interface CardStreamService {
+
+    /**
+     * Подключение к потоку. Сразу отправляется текущее состояние всех карт пользователя,
+     * поэтому после переподключения клиент не теряет изменения
+     *
+     * @param userId ID пользователя
+     * @return SSE соединение
+     */
+    SseEmitter subscribe(Long userId);
+
+    /**
+     * Отправка текущего состояния карт подписчикам пользователя после коммита транзакции БД.
+     * Состояние читается уже после коммита. Без подписчиков ничего не делает и не обращается к БД
+     *
+     * @param userId  ID владельца карт
+     * @param cardIds ID измененных карт
+     */
+    void publishAfterCommit(Long userId, Collection<Long> cardIds);
+}
@@ -0,0 +1,219 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.CardBalanceResponse;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.repository.CardRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Имплементация потока карт. У каждого соединения своя ограниченная очередь, отправка идет
+ * в виртуальном потоке соединения. Если клиент не успевает читать и очередь переполнилась,
+ * соединение закрывается: коммитящий поток никогда не ждет медленного клиента.
+ * Состояние карт читается после коммита, чтение и постановка в очереди пользователя идут под одной
+ * блокировкой, поэтому последнее событие в очереди всегда не старше последнего коммита.
+ * Виртуальных потоков публикации может быть сколько угодно, а одновременных чтений состояния
+ * не больше card.stream.max-concurrent-reads, чтобы поток не занял весь пул соединений
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CardStreamServiceImpl implements CardStreamService {
+    private static final String EVENT_NAME = "card";
+    private static final int USER_LOCKS = 64;
+
+    private final CardRepository cardRepository;
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final Lock[] userLocks = IntStream.range(0, USER_LOCKS).mapToObj(i -> new ReentrantLock()).toArray(Lock[]::new);
+
+    @Value("${card.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${card.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${card.stream.max-concurrent-reads:4}")
+    private int maxConcurrentReads;
+
+    private ExecutorService sender;
+    private Semaphore snapshotReads;
+
+    @PostConstruct
+    void start() {
+        snapshotReads = new Semaphore(maxConcurrentReads, true);
+        sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("card-stream-", 0).factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> connection.emitter.complete()));
+        sender.shutdown();
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.isOwnerOrAdmin(#userId)")
+    public SseEmitter subscribe(Long userId) {
+        Connection connection = new Connection(userId, new SseEmitter(timeoutMillis), bufferSize);
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(() -> remove(connection));
+        connection.emitter.onError(e -> remove(connection));
+        connections.compute(userId, (id, userConnections) -> {
+            Set<Connection> result = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+            result.add(connection);
+            return result;
+        });
+
+        Lock lock = userLock(userId);
+        lock.lock();
+        try {
+            offer(connection, readSnapshot(() -> cardRepository.findBalancesByOwnerId(userId)));
+        } finally {
+            lock.unlock();
+        }
+        return connection.emitter;
+    }
+
+    @Override
+    public void publishAfterCommit(Long userId, Collection<Long> cardIds) {
+        if (!connections.containsKey(userId)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sender.execute(() -> publish(userId, cardIds));
+            return;
+        }
+        // Снимок внутри транзакции мог бы обогнать более свежий снимок параллельного коммита,
+        // поэтому балансы перечитываются вне ее, в отдельном потоке: соединение транзакции еще занято
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sender.execute(() -> publish(userId, cardIds));
+            }
+        });
+    }
+
+    private void publish(Long userId, Collection<Long> cardIds) {
+        Lock lock = userLock(userId);
+        lock.lock();
+        try {
+            Set<Connection> userConnections = connections.get(userId);
+            if (userConnections == null) {
+                return;
+            }
+            List<CardBalanceResponse> events = readSnapshot(() -> cardRepository.findBalancesByIdIn(cardIds));
+            userConnections.forEach(connection -> offer(connection, events));
+        } catch (RuntimeException e) {
+            log.warn("Card stream of user {} not updated: {}", userId, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<CardBalanceResponse> readSnapshot(Supplier<List<CardRepository.CardBalanceView>> query) {
+        snapshotReads.acquireUninterruptibly();
+        try {
+            return toResponses(query.get());
+        } finally {
+            snapshotReads.release();
+        }
+    }
+
+    private Lock userLock(Long userId) {
+        return userLocks[Math.floorMod(userId.hashCode(), USER_LOCKS)];
+    }
+
+    private void offer(Connection connection, List<CardBalanceResponse> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (CardBalanceResponse event : events) {
+            if (!connection.buffer.offer(event)) {
+                log.info("Card stream of user {} dropped: client is too slow", connection.userId);
+                close(connection);
+                return;
+            }
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (!connection.closed && connection.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            CardBalanceResponse event;
+            while (!connection.closed && (event = connection.buffer.poll()) != null) {
+                connection.emitter.send(SseEmitter.event().name(EVENT_NAME).data(event));
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(connection);
+        } finally {
+            connection.draining.set(false);
+        }
+        if (!connection.buffer.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        connection.closed = true;
+        remove(connection);
+        // complete() ждет, пока завершится отправка в соединение, поэтому не в вызывающем потоке
+        sender.execute(connection.emitter::complete);
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private static List<CardBalanceResponse> toResponses(List<CardRepository.CardBalanceView> views) {
+        return views.stream()
+                .map(view -> new CardBalanceResponse(view.getId(), view.getBalance(), CardStatus.valueOf(view.getStatus())))
+                .toList();
+    }
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<CardBalanceResponse> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Connection(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
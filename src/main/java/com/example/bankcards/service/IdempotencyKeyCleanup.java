@@ -0,0 +1,24 @@
+package com.example.bankcards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Удаление устаревших ключей идемпотентности по расписанию
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanup {
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(cron = "${idempotency.cleanup-cron:0 30 * * * *}")
+    public void purge() {
+        int deleted = idempotencyService.purgeExpired();
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.IdempotencyKeyReusedException;
+
+import java.util.function.Supplier;
+
+/**
+ * Идемпотентность запросов перевода по заголовку Idempotency-Key
+ */
+public interface IdempotencyService {
+
+    /**
+     * Выполнение перевода один раз на ключ. Повтор с тем же ключом и тем же запросом возвращает
+     * исходную транзакцию, перевод не выполняется. Ключ захватывается в той же транзакции БД, что и перевод,
+     * поэтому при ошибке перевода ключ освобождается
+     *
+     * @param userId             ID пользователя
+     * @param idempotencyKey     ключ, без ключа перевод просто выполняется
+     * @param requestFingerprint параметры запроса, с ключом хранится их хэш
+     * @param transfer           перевод
+     * @return созданная или исходная транзакция
+     * @throws IllegalArgumentException       если ключ длиннее 64 символов
+     * @throws IdempotencyKeyReusedException если ключ уже использован с другим запросом
+     */
+    Transaction execute(Long userId, String idempotencyKey, String requestFingerprint, Supplier<Transaction> transfer);
+
+    /**
+     * Удаление устаревших ключей из таблицы и из памяти
+     *
+     * @return количество удаленных ключей
+     */
+    int purgeExpired();
+}
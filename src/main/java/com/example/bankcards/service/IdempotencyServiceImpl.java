@@ -0,0 +1,156 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.IdempotencyKey;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.IdempotencyKeyReusedException;
+import com.example.bankcards.exception.TransactionNotFoundException;
+import com.example.bankcards.repository.IdempotencyKeyRepository;
+import com.example.bankcards.repository.TransactionRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Имплементация идемпотентности. Недавние ключи лежат в LRU в памяти, повтор по ним
+ * обходится чтением транзакции по первичному ключу, без записи в таблицу ключей.
+ * Ключи в памяти живут столько же, сколько в таблице: после удаления из таблицы ключ можно использовать заново
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    private final Map<CacheKey, CachedKey> recentKeys = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedKey> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    @Override
+    public Transaction execute(Long userId, String idempotencyKey, String requestFingerprint,
+                               Supplier<Transaction> transfer) {
+        if (idempotencyKey == null) {
+            return transfer.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key должен быть от 1 до " + MAX_KEY_LENGTH + " символов");
+        }
+
+        String requestHash = hash(requestFingerprint);
+        CacheKey cacheKey = new CacheKey(userId, idempotencyKey);
+        CachedKey cached = getCached(cacheKey);
+        if (cached != null) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            return findTransaction(cached.transactionId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (idempotencyKeyRepository.claim(userId, idempotencyKey, requestHash, now) == 0) {
+            IdempotencyKey existing = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .orElseThrow(() -> new TransactionNotFoundException("Транзакция по ключу не найдена"));
+            checkSameRequest(existing.getRequestHash(), requestHash);
+            putCached(cacheKey, new CachedKey(existing.getTransactionId(), existing.getRequestHash(),
+                    existing.getCreatedAt()));
+            return findTransaction(existing.getTransactionId());
+        }
+
+        Transaction transaction = transfer.get();
+        idempotencyKeyRepository.bindTransaction(userId, idempotencyKey, transaction.getId());
+        cacheAfterCommit(cacheKey, new CachedKey(transaction.getId(), requestHash, now));
+        return transaction;
+    }
+
+    @Override
+    public int purgeExpired() {
+        LocalDateTime before = expiredBefore();
+        synchronized (recentKeys) {
+            recentKeys.values().removeIf(cached -> cached.createdAt().isBefore(before));
+        }
+        return idempotencyKeyRepository.deleteCreatedBefore(before);
+    }
+
+    private LocalDateTime expiredBefore() {
+        return LocalDateTime.now().minusHours(ttlHours);
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key уже использован с другим запросом");
+        }
+    }
+
+    private static String hash(String requestFingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(requestFingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    private Transaction findTransaction(Long transactionId) {
+        return transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Транзакция не найдена с ID: " + transactionId));
+    }
+
+    // В LRU попадают только закоммиченные ключи, иначе после отката повтор вернул бы несуществующую транзакцию
+    private void cacheAfterCommit(CacheKey cacheKey, CachedKey cached) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putCached(cacheKey, cached);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putCached(cacheKey, cached);
+            }
+        });
+    }
+
+    private CachedKey getCached(CacheKey cacheKey) {
+        synchronized (recentKeys) {
+            CachedKey cached = recentKeys.get(cacheKey);
+            if (cached != null && cached.createdAt().isBefore(expiredBefore())) {
+                recentKeys.remove(cacheKey);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void putCached(CacheKey cacheKey, CachedKey cached) {
+        synchronized (recentKeys) {
+            recentKeys.put(cacheKey, cached);
+        }
+    }
+
+    private record CacheKey(Long userId, String idempotencyKey) {
+    }
+
+    private record CachedKey(Long transactionId, String requestHash, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.InsufficientFundsException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Сервис журнала проводок. Журнал - источник истины для балансов,
+ * cards.balance - проекция, обновляемая в той же транзакции БД.
+ * Для карт с полосами баланса проекция - это cards.balance плюс сумма полос
+ */
+public interface LedgerService {
+
+    /**
+     * Проведение перевода: списание и зачисление в журнале и обновление балансов карт
+     *
+     * @param transaction сохраненная транзакция перевода
+     * @throws InsufficientFundsException если на карте отправителя недостаточно средств
+     */
+    void recordTransfer(Transaction transaction);
+
+    /**
+     * Свертка зачислений из полос баланса в основной баланс карты
+     *
+     * @param cardId ID карты
+     */
+    void foldStripes(Long cardId);
+
+    /**
+     * ID карт с несвернутыми зачислениями в полосах
+     */
+    List<Long> getCardsWithStripes();
+
+    /**
+     * Баланс карты по журналу
+     *
+     * @param cardId ID карты
+     * @return сумма проводок карты
+     */
+    BigDecimal getLedgerBalance(Long cardId);
+}
@@ -0,0 +1,106 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.InsufficientFundsException;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Имплементация сервиса журнала проводок
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class LedgerServiceImpl implements LedgerService {
+    private static final int TRANSFER_CARDS = 2;
+    private final CardRepository cardRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final CardCacheEvictor cardCacheEvictor;
+
+    @Value("${card.balance-stripes.count:8}")
+    private int stripeCount;
+
+    @Override
+    public void recordTransfer(Transaction transaction) {
+        Card fromCard = transaction.getFromCard();
+        Card toCard = transaction.getToCard();
+        Long fromCardId = fromCard.getId();
+        Long toCardId = toCard.getId();
+        BigDecimal amount = transaction.getAmount();
+
+        // Баланс меняется атомарно в БД, а не перезаписывается посчитанным в Java значением
+        if (!fromCard.isBalanceStriped() && !toCard.isBalanceStriped()) {
+            if (cardRepository.applyTransfer(fromCardId, toCardId, amount) != TRANSFER_CARDS) {
+                throw insufficientFunds();
+            }
+        } else {
+            debit(fromCard, toCard, amount);
+            credit(toCard, amount);
+        }
+        // Нативные запросы меняют баланс мимо Hibernate
+        cardCacheEvictor.evict(List.of(fromCardId, toCardId));
+        ledgerEntryRepository.insertTransferEntries(transaction.getId(), fromCardId, toCardId,
+                transaction.getAmount(), transaction.getTransactionDate());
+    }
+
+    @Override
+    public void foldStripes(Long cardId) {
+        cardRepository.lockInIdOrder(List.of(cardId));
+        cardRepository.foldStripes(cardId);
+        cardCacheEvictor.evict(List.of(cardId));
+    }
+
+    @Override
+    public List<Long> getCardsWithStripes() {
+        return cardRepository.findCardIdsWithStripes();
+    }
+
+    @Override
+    public BigDecimal getLedgerBalance(Long cardId) {
+        return ledgerEntryRepository.sumByCardId(cardId);
+    }
+
+    /**
+     * Списание с основного баланса. Если его не хватает, а у карты есть полосы,
+     * они сворачиваются и списание повторяется, то есть проверяется суммарный баланс.
+     * Свертка удаляет строки полос, а встречный перевод может ждать их для зачисления, пока держит свои.
+     * Поэтому до свертки обе карты перевода блокируются в порядке id
+     */
+    private void debit(Card card, Card counterpart, BigDecimal amount) {
+        if (cardRepository.debit(card.getId(), amount) == 1) {
+            return;
+        }
+        if (!card.isBalanceStriped()) {
+            throw insufficientFunds();
+        }
+        cardRepository.lockInIdOrder(List.of(card.getId(), counterpart.getId()));
+        cardRepository.foldStripes(card.getId());
+        if (cardRepository.debit(card.getId(), amount) != 1) {
+            throw insufficientFunds();
+        }
+    }
+
+    /**
+     * Зачисление: для карт с полосами в случайную полосу, чтобы не блокировать строку карты
+     */
+    private void credit(Card card, BigDecimal amount) {
+        if (card.isBalanceStriped()) {
+            cardRepository.creditStripe(card.getId(), ThreadLocalRandom.current().nextInt(stripeCount), amount);
+        } else {
+            cardRepository.updateBalance(card.getId(), amount);
+        }
+    }
+
+    private static InsufficientFundsException insufficientFunds() {
+        return new InsufficientFundsException("Недостаточно средств на карте отправителя");
+    }
+}
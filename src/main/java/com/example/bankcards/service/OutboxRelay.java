@@ -0,0 +1,26 @@
+package com.example.bankcards.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ретрансляция outbox пачками, пока таблица не опустеет
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private final OutboxService outboxService;
+
+    @Value("${outbox.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${outbox.relay-interval-ms:200}")
+    public void relay() {
+        int published;
+        do {
+            published = outboxService.relayBatch(batchSize);
+        } while (published == batchSize);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.entity.enums.OutboxEventType;
+
+/**
+ * Transactional outbox: события пишутся в таблицу в транзакции изменения и затем ретранслируются получателям
+ */
+public interface OutboxService {
+
+    /**
+     * Событие по карте, тело как ответ API по карте
+     *
+     * @param type тип события
+     * @param card карта
+     */
+    void recordCardEvent(OutboxEventType type, Card card);
+
+    /**
+     * Событие о проведенном переводе, тело как ответ API по транзакции
+     *
+     * @param transaction транзакция
+     */
+    void recordTransferCompleted(Transaction transaction);
+
+    /**
+     * Публикация пачки событий во все получатели и удаление опубликованных
+     *
+     * @param batchSize размер пачки
+     * @return количество опубликованных событий
+     */
+    int relayBatch(int batchSize);
+}
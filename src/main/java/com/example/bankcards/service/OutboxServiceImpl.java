@@ -0,0 +1,70 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.entity.enums.OutboxEventType;
+import com.example.bankcards.event.EventSink;
+import com.example.bankcards.mapper.CardMapper;
+import com.example.bankcards.mapper.TransactionMapper;
+import com.example.bankcards.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Имплементация outbox
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OutboxServiceImpl implements OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<EventSink> sinks;
+    private final CardMapper cardMapper;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void recordCardEvent(OutboxEventType type, Card card) {
+        record(type, card.getId(), card.getOwner().getId(), cardMapper.toResponse(card));
+    }
+
+    @Override
+    public void recordTransferCompleted(Transaction transaction) {
+        record(OutboxEventType.TRANSFER_COMPLETED, transaction.getId(), transaction.getFromCard().getOwner().getId(),
+                transactionMapper.toResponse(transaction));
+    }
+
+    @Override
+    public int relayBatch(int batchSize) {
+        List<OutboxEvent> events = outboxEventRepository.lockBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (EventSink sink : sinks) {
+            sink.publish(events);
+        }
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+        return events.size();
+    }
+
+    private void record(OutboxEventType type, Long aggregateId, Long userId, Object payload) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .eventType(type)
+                    .aggregateId(aggregateId)
+                    .userId(userId)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие " + type, e);
+        }
+    }
+}
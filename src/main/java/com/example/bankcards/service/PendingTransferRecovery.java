@@ -0,0 +1,24 @@
+package com.example.bankcards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Дообработка асинхронных переводов, оставшихся в PENDING после перезапуска или сбоя обработчика
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingTransferRecovery {
+    private final AsyncTransferService asyncTransferService;
+
+    @Scheduled(fixedDelayString = "${transfer.async.recovery-interval-ms:30000}")
+    public void resubmit() {
+        int submitted = asyncTransferService.resubmitStalePending();
+        if (submitted > 0) {
+            log.info("Resubmitted {} pending transfers", submitted);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.exception.ReconciliationInProgressException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Запуск сверки балансов по расписанию. Сверка доступна только админу,
+ * поэтому планировщик выполняет ее от имени системного пользователя с ролью админа
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class ReconciliationScheduler {
+    private static final String SYSTEM_PRINCIPAL = "reconciliation-scheduler";
+    private final ReconciliationService reconciliationService;
+
+    @Scheduled(cron = "${reconciliation.cron:0 0 3 * * *}")
+    public void reconcile() {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(SYSTEM_PRINCIPAL, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        SecurityContextHolder.setContext(context);
+        try {
+            reconciliationService.reconcile();
+        } catch (ReconciliationInProgressException e) {
+            log.info("Scheduled reconciliation skipped: {}", e.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
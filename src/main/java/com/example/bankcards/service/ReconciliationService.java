@@ -0,0 +1,42 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.BalanceMismatch;
+import com.example.bankcards.entity.ReconciliationRun;
+import com.example.bankcards.exception.ReconciliationInProgressException;
+import com.example.bankcards.exception.ReconciliationRunNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Сервис сверки балансов карт с журналом проводок
+ */
+public interface ReconciliationService {
+
+    /**
+     * Инкрементальная сверка: баланс по журналу считается как снимок на прошлой контрольной точке
+     * плюс проводки после нее, расхождения с cards.balance сохраняются, снимки переносятся
+     * на новую контрольную точку
+     *
+     * @return запуск сверки
+     * @throws ReconciliationInProgressException если сверка уже выполняется
+     */
+    ReconciliationRun reconcile();
+
+    /**
+     * Последний запуск сверки
+     *
+     * @return запуск сверки
+     * @throws ReconciliationRunNotFoundException если сверка еще не запускалась
+     */
+    ReconciliationRun getLatestRun();
+
+    /**
+     * Расхождения запуска сверки с пагинацией
+     *
+     * @param runId    ID запуска сверки
+     * @param pageable параметры пагинации
+     * @return страница расхождений
+     * @throws ReconciliationRunNotFoundException если запуск не найден
+     */
+    Page<BalanceMismatch> getMismatches(Long runId, Pageable pageable);
+}
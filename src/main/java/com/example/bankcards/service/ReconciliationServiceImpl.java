@@ -0,0 +1,88 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.BalanceMismatch;
+import com.example.bankcards.entity.ReconciliationRun;
+import com.example.bankcards.exception.ReconciliationInProgressException;
+import com.example.bankcards.exception.ReconciliationRunNotFoundException;
+import com.example.bankcards.metrics.TimedOperation;
+import com.example.bankcards.repository.BalanceMismatchRepository;
+import com.example.bankcards.repository.BalanceSnapshotRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import com.example.bankcards.repository.ReconciliationRunRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Имплементация сервиса сверки балансов
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ReconciliationServiceImpl implements ReconciliationService {
+    private static final long RECONCILIATION_LOCK_KEY = 0x5245434FL;
+    private final ReconciliationRunRepository reconciliationRunRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final BalanceMismatchRepository balanceMismatchRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    @Value("${reconciliation.settle-seconds:300}")
+    private long settleSeconds;
+
+    @Override
+    @PreAuthorize("@userSecurity.hasAdminRole()")
+    @TimedOperation("bank.reconciliation")
+    public ReconciliationRun reconcile() {
+        if (!reconciliationRunRepository.tryLock(RECONCILIATION_LOCK_KEY)) {
+            throw new ReconciliationInProgressException("Сверка балансов уже выполняется");
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long fromEntryId = reconciliationRunRepository.findTopByOrderByIdDesc()
+                .map(ReconciliationRun::getCheckpointEntryId)
+                .orElse(0L);
+        long checkpointEntryId = ledgerEntryRepository.findSettledCheckpoint(
+                fromEntryId, startedAt.minusSeconds(settleSeconds));
+
+        ReconciliationRun run = reconciliationRunRepository.save(ReconciliationRun.builder()
+                .fromEntryId(fromEntryId)
+                .checkpointEntryId(checkpointEntryId)
+                .startedAt(startedAt)
+                .build());
+
+        run.setMismatches(balanceMismatchRepository.insertMismatches(run.getId(), fromEntryId));
+        run.setSnapshotsUpdated(balanceSnapshotRepository.advance(fromEntryId, checkpointEntryId));
+        run.setFinishedAt(LocalDateTime.now());
+
+        if (run.getMismatches() > 0) {
+            log.warn("Reconciliation run {} found {} cards with balance not matching the ledger",
+                    run.getId(), run.getMismatches());
+        }
+        log.info("Reconciliation run {}: entries ({}, {}], {} snapshots updated",
+                run.getId(), fromEntryId, checkpointEntryId, run.getSnapshotsUpdated());
+        return reconciliationRunRepository.save(run);
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.hasAdminRole()")
+    public ReconciliationRun getLatestRun() {
+        return reconciliationRunRepository.findTopByOrderByIdDesc()
+                .orElseThrow(() -> new ReconciliationRunNotFoundException("Сверка еще не запускалась"));
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.hasAdminRole()")
+    public Page<BalanceMismatch> getMismatches(Long runId, Pageable pageable) {
+        if (!reconciliationRunRepository.existsById(runId)) {
+            throw new ReconciliationRunNotFoundException("Запуск сверки не найден");
+        }
+        return balanceMismatchRepository.findByRunId(runId, pageable);
+    }
+}
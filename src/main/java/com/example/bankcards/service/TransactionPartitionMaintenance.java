@@ -0,0 +1,53 @@
+package com.example.bankcards.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Заранее создает секции transactions на ближайшие месяцы и, если задано, отправляет старые в архив.
+ * Запускается при старте и по расписанию. Строки вне секций попадают в transactions_default
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionMaintenance {
+    private final TransactionPartitionService transactionPartitionService;
+
+    @Value("${transactions.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${transactions.partitions.archive-after-months:0}")
+    private int archiveAfterMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transactions.partitions.cron:0 30 2 * * *}")
+    public void maintain() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = currentMonth.plusMonths(i);
+            try {
+                if (transactionPartitionService.createPartition(month)) {
+                    log.info("Created transactions partition for {}", month);
+                }
+            } catch (DataAccessException e) {
+                // Например, в transactions_default уже есть строки этого месяца
+                log.warn("Failed to create transactions partition for {}: {}", month, e.getMessage());
+            }
+        }
+
+        if (archiveAfterMonths > 0) {
+            int archived = transactionPartitionService.archivePartitionsBefore(currentMonth.minusMonths(archiveAfterMonths));
+            if (archived > 0) {
+                log.info("Moved {} transactions partitions to archive", archived);
+            }
+        }
+    }
+}
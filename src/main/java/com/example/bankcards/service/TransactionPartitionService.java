@@ -0,0 +1,26 @@
+package com.example.bankcards.service;
+
+import java.time.LocalDate;
+
+/**
+ * Обслуживание месячных секций таблицы transactions
+ */
+public interface TransactionPartitionService {
+
+    /**
+     * Создание секции на месяц, если ее еще нет
+     *
+     * @param month любой день месяца
+     * @return true, если секция создана
+     */
+    boolean createPartition(LocalDate month);
+
+    /**
+     * Перенос секций старше границы в схему archive. Из истории транзакций они пропадают,
+     * проводки в журнале остаются
+     *
+     * @param before первый день месяца, секции до него уходят в архив
+     * @return количество перенесенных секций
+     */
+    int archivePartitionsBefore(LocalDate before);
+}
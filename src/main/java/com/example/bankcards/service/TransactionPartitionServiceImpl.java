@@ -0,0 +1,29 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.TransactionRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Имплементация обслуживания секций, DDL выполняют функции БД из миграции v11
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionPartitionServiceImpl implements TransactionPartitionService {
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    @Transactional
+    public boolean createPartition(LocalDate month) {
+        return transactionRepository.createPartition(month);
+    }
+
+    @Override
+    @Transactional
+    public int archivePartitionsBefore(LocalDate before) {
+        return transactionRepository.archivePartitionsBefore(before);
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.request.TransactionFilter;
 import com.example.bankcards.entity.Transaction;
 import com.example.bankcards.exception.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Сервис для управления финансовыми транзакциями
@@ -32,30 +35,86 @@ public interface TransactionService {
             Long userId, Long fromCardId, Long toCardId, BigDecimal amount, String description
     ) throws UserNotFoundException;
 
+    /**
+     * Проверка перевода и сохранение транзакции в статусе PENDING, без движения средств
+     *
+     * @param userId      Id пользователя, выполняющего перевод
+     * @param fromCardId  Id карты с которой совершаем перевод
+     * @param toCardId    Id карты на которую совершаем перевод
+     * @param amount      Сумма
+     * @param description Описание тразнакции
+     * @return сохраненная транзакция
+     * @throws CardNotFoundException         если карта не найдена
+     * @throws UnauthorizedTransferException если карты не принадлежат пользователю
+     * @throws CardBlockedException          если карта заблокирована
+     * @throws CardExpiredException          если срок действия карты истек
+     * @throws InsufficientFundsException    если недостаточно средств
+     */
+    Transaction createPendingTransfer(
+            Long userId, Long fromCardId, Long toCardId, BigDecimal amount, String description);
+
+    /**
+     * Проведение перевода в статусе PENDING. Вызывается из пула обработки, права проверены при создании.
+     * Транзакция в другом статусе пропускается
+     *
+     * @param transactionId ID транзакции
+     * @throws CardBlockedException       если карта заблокирована после создания перевода
+     * @throws CardExpiredException       если срок действия карты истек
+     * @throws InsufficientFundsException если недостаточно средств
+     */
+    void completePendingTransfer(Long transactionId);
+
+    /**
+     * Перевод транзакции из PENDING в FAILED
+     *
+     * @param transactionId ID транзакции
+     */
+    void failPendingTransfer(Long transactionId);
+
+    /**
+     * ID переводов, которые остались в PENDING дольше ожидаемого, например после перезапуска
+     *
+     * @param before граница времени создания
+     * @param limit  максимальное количество
+     */
+    List<Long> getStalePendingTransferIds(LocalDateTime before, int limit);
+
+    /**
+     * Получение транзакции по ID для владельца карты отправителя или админа
+     *
+     * @param transactionId ID транзакции
+     * @return транзакция
+     * @throws TransactionNotFoundException если транзакция не найдена
+     */
+    Transaction getTransaction(Long transactionId);
+
     /**
      * Получение истории транзакций пользователя с пагинацией
      *
      * @param userId   ID пользователя
+     * @param filter   фильтры по дате, сумме и статусу
      * @param pageable параметры пагинации
      * @return страница с транзакциями пользователя
      * @throws UserNotFoundException если пользователь не найден
      */
-    Page<Transaction> getUserTransactions(Long userId, Pageable pageable);
+    Page<Transaction> getUserTransactions(Long userId, TransactionFilter filter, Pageable pageable);
 
     /**
      * Получение истории транзакций по карте с пагинацией
      *
      * @param cardId   ID карты
+     * @param filter   фильтры по дате, сумме и статусу
      * @param pageable параметры пагинации
      * @return страница с транзакциями карты
      */
-    Page<Transaction> getCardTransactions(Long cardId, Pageable pageable);
+    Page<Transaction> getCardTransactions(Long cardId, TransactionFilter filter, Pageable pageable);
 
     /**
      * Получение списка всех транзакция для админа
      *
+     * @param filter   - фильтры по дате, сумме и статусу
      * @param pageable - параметры пагинации
      * @return страница с транзакциями
      */
-    Page<Transaction> getAllTransactions(Pageable pageable);
+    Page<Transaction> getAllTransactions(TransactionFilter filter, Pageable pageable);
 }
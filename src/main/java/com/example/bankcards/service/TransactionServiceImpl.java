@@ -1,20 +1,26 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.request.TransactionFilter;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.Transaction;
 import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.entity.enums.TransactionStatus;
 import com.example.bankcards.exception.*;
+import com.example.bankcards.metrics.TimedOperation;
 import com.example.bankcards.repository.TransactionRepository;
+import com.example.bankcards.repository.TransactionSpecifications;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Имплементация сервиса по работе с транзакциями
@@ -25,12 +31,99 @@ import java.time.LocalDateTime;
 public class TransactionServiceImpl implements TransactionService {
     private final TransactionRepository transactionRepository;
     private final CardService cardService;
+    private final LedgerService ledgerService;
+    private final OutboxService outboxService;
+    private final CardStreamService cardStreamService;
 
     @Override
     @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#fromCardId)")
+    @TimedOperation("bank.transfer")
     public Transaction transferBetweenOwnCards(Long userId, Long fromCardId, Long toCardId,
                                                BigDecimal amount, String description) {
 
+        Transaction transaction = buildTransfer(userId, fromCardId, toCardId, amount, description,
+                TransactionStatus.COMPLETED);
+        transactionRepository.save(transaction);
+        ledgerService.recordTransfer(transaction);
+        outboxService.recordTransferCompleted(transaction);
+        publishCardStates(transaction);
+        return transaction;
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#fromCardId)")
+    public Transaction createPendingTransfer(Long userId, Long fromCardId, Long toCardId,
+                                             BigDecimal amount, String description) {
+        return transactionRepository.save(buildTransfer(userId, fromCardId, toCardId, amount, description,
+                TransactionStatus.PENDING));
+    }
+
+    @Override
+    @TimedOperation("bank.transfer.async")
+    public void completePendingTransfer(Long transactionId) {
+        Transaction transaction = transactionRepository.findForUpdateById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Транзакция не найдена с ID: " + transactionId));
+        if (transaction.getStatus() != TransactionStatus.PENDING) {
+            return;
+        }
+        // Карту могли заблокировать или пополнить, пока перевод ждал в очереди
+        validateTransfer(transaction.getFromCard(), transaction.getToCard(), transaction.getAmount());
+
+        transaction.setTransactionDate(LocalDateTime.now());
+        ledgerService.recordTransfer(transaction);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        outboxService.recordTransferCompleted(transaction);
+        publishCardStates(transaction);
+    }
+
+    @Override
+    public void failPendingTransfer(Long transactionId) {
+        transactionRepository.findForUpdateById(transactionId)
+                .filter(transaction -> transaction.getStatus() == TransactionStatus.PENDING)
+                .ifPresent(transaction -> transaction.setStatus(TransactionStatus.FAILED));
+    }
+
+    @Override
+    public List<Long> getStalePendingTransferIds(LocalDateTime before, int limit) {
+        return transactionRepository.findIdsByStatusBefore(
+                TransactionStatus.PENDING, before, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @PostAuthorize("@userSecurity.isOwnerOrAdmin(returnObject.fromCard.owner.id)")
+    public Transaction getTransaction(Long transactionId) {
+        return transactionRepository.findWithFromCardById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Транзакция не найдена с ID: " + transactionId));
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.isOwnerOrAdmin(#userId)")
+    public Page<Transaction> getUserTransactions(Long userId, TransactionFilter filter, Pageable pageable) {
+        return transactionRepository.findAll(
+                TransactionSpecifications.byUser(userId).and(TransactionSpecifications.matches(filter)), pageable);
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#cardId)")
+    public Page<Transaction> getCardTransactions(Long cardId, TransactionFilter filter, Pageable pageable) {
+        return transactionRepository.findAll(
+                TransactionSpecifications.byCard(cardId).and(TransactionSpecifications.matches(filter)), pageable);
+    }
+
+    @Override
+    @PreAuthorize("@userSecurity.hasAdminRole()")
+    public Page<Transaction> getAllTransactions(TransactionFilter filter, Pageable pageable) {
+        return transactionRepository.findAll(TransactionSpecifications.matches(filter), pageable);
+    }
+
+    // Новые балансы обеих карт уходят в поток владельца после коммита перевода
+    private void publishCardStates(Transaction transaction) {
+        cardStreamService.publishAfterCommit(transaction.getFromCard().getOwner().getId(),
+                List.of(transaction.getFromCard().getId(), transaction.getToCard().getId()));
+    }
+
+    private Transaction buildTransfer(Long userId, Long fromCardId, Long toCardId, BigDecimal amount,
+                                      String description, TransactionStatus status) {
         Card fromCard = cardService.getCardByIdAndOwner(fromCardId, userId);
         Card toCard = cardService.getCardByIdAndOwner(toCardId, userId);
 
@@ -42,7 +135,20 @@ public class TransactionServiceImpl implements TransactionService {
             throw new UnauthorizedTransferException("Нельзя перевести на одну и туже карту");
         }
 
-        if (fromCard.getBalance().compareTo(amount) < 0) {
+        validateTransfer(fromCard, toCard, amount);
+
+        return Transaction.builder()
+                .fromCard(fromCard)
+                .toCard(toCard)
+                .amount(amount)
+                .transactionDate(LocalDateTime.now())
+                .status(status)
+                .description(description)
+                .build();
+    }
+
+    private void validateTransfer(Card fromCard, Card toCard, BigDecimal amount) {
+        if (fromCard.getAvailableBalance().compareTo(amount) < 0) {
             throw new InsufficientFundsException("Недостаточно средств на карте отправителя");
         }
 
@@ -57,37 +163,5 @@ public class TransactionServiceImpl implements TransactionService {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidAmountException("Сумма перевода должна быть положительной");
         }
-
-        cardService.updateCardBalance(fromCardId, fromCard.getBalance().subtract(amount));
-        cardService.updateCardBalance(toCardId, toCard.getBalance().add(amount));
-
-        Transaction transaction = Transaction.builder()
-                .fromCard(fromCard)
-                .toCard(toCard)
-                .amount(amount)
-                .transactionDate(LocalDateTime.now())
-                .status(TransactionStatus.COMPLETED)
-                .description(description)
-                .build();
-
-        return transactionRepository.save(transaction);
-    }
-
-    @Override
-    @PreAuthorize("@userSecurity.isOwnerOrAdmin(#userId)")
-    public Page<Transaction> getUserTransactions(Long userId, Pageable pageable) {
-        return transactionRepository.findByUserId(userId, pageable);
-    }
-
-    @Override
-    @PreAuthorize("@userSecurity.isCardOwnerOrAdmin(#cardId)")
-    public Page<Transaction> getCardTransactions(Long cardId, Pageable pageable) {
-        return transactionRepository.findByCardId(cardId, pageable);
-    }
-
-    @Override
-    @PreAuthorize("@userSecurity.hasAdminRole()")
-    public Page<Transaction> getAllTransactions(Pageable pageable) {
-        return transactionRepository.findAll(pageable);
     }
 }
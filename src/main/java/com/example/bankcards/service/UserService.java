@@ -64,6 +64,15 @@ public interface UserService {
      */
     User getById(Long userId);
 
+    /**
+     * Версия пользователя для ETag, без загрузки сущности
+     *
+     * @param userId ID пользователя
+     * @return версия строки пользователя
+     * @throws UserNotFoundException если пользователь не найден
+     */
+    long getVersion(Long userId);
+
     /**
      * Удаление пользователя по ID
      *
@@ -9,6 +9,7 @@ import com.example.bankcards.exception.UsernameAlreadyExistsException;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +20,8 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final String USERNAME_UNIQUE_CONSTRAINT = "users_username_key";
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "users_email_key";
     private final UserRepository userRepository;
     private final CardRepository cardRepository;
 
@@ -29,15 +32,19 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User create(User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new UsernameAlreadyExistsException("Пользователь с таким именем уже существует");
+        // Уникальность проверяет сама БД, отдельные запросы existsBy* не нужны
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String message = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (message.contains(USERNAME_UNIQUE_CONSTRAINT)) {
+                throw new UsernameAlreadyExistsException("Пользователь с таким именем уже существует");
+            }
+            if (message.contains(EMAIL_UNIQUE_CONSTRAINT)) {
+                throw new EmailAlreadyExistsException("Пользователь с таким email уже существует");
+            }
+            throw e;
         }
-
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new EmailAlreadyExistsException("Пользователь с таким email уже существует");
-        }
-
-        return save(user);
     }
 
     @Override
@@ -68,6 +75,14 @@ public class UserServiceImpl implements UserService {
                         new UserNotFoundException("Пользователь не найден с ID: " + userId));
     }
 
+    @Override
+    @PreAuthorize("@userSecurity.isOwnerOrAdmin(#userId)")
+    public long getVersion(Long userId) {
+        return userRepository.findVersionById(userId)
+                .orElseThrow(() ->
+                        new UserNotFoundException("Пользователь не найден с ID: " + userId));
+    }
+
     @Override
     @PreAuthorize("@userSecurity.hasAdminRole()")
     public void delete(Long userId) {
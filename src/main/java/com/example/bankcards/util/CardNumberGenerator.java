@@ -0,0 +1,15 @@
+package com.example.bankcards.util;
+
+/**
+ * Источник случайных цифр для номеров карт
+ */
+public interface CardNumberGenerator {
+
+    /**
+     * Заполняет начало массива случайными цифрами '0'..'9'
+     *
+     * @param digits массив для номера
+     * @param length сколько цифр заполнить с начала массива
+     */
+    void fillDigits(char[] digits, int length);
+}
@@ -2,19 +2,26 @@ package com.example.bankcards.util;
 
 import com.example.bankcards.exception.CardEncryptionException;
 import com.example.bankcards.exception.InvalidCardNumberException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Base64;
-import java.util.Random;
 
 
 /**
  * Утилитный класс для работы с номером карты
  */
 @Service
+@RequiredArgsConstructor
 public class CardNumberUtil {
     private static final String MASKED_NUMBER_PREFIX = "**** **** **** ";
-    private final Random RANDOM = new Random();
+    private static final int CARD_NUMBER_LENGTH = 16;
+    private static final int VISIBLE_DIGITS = 4;
+    private final CardNumberGenerator cardNumberGenerator;
+
+    @Value("${card.number.luhn-check:false}")
+    private boolean luhnCheck;
 
     /**
      * Маскирует номер карты, оставляя видимыми только первые 6 и последние 4 цифры
@@ -26,22 +33,27 @@ public class CardNumberUtil {
         if (!validateCardNumber(cardNumber)) {
             throw new InvalidCardNumberException("Неверный формат карты");
         }
-        String lastFour = cardNumber.substring(12);
-
-        return MASKED_NUMBER_PREFIX + lastFour;
+        char[] masked = new char[MASKED_NUMBER_PREFIX.length() + VISIBLE_DIGITS];
+        MASKED_NUMBER_PREFIX.getChars(0, MASKED_NUMBER_PREFIX.length(), masked, 0);
+        cardNumber.getChars(CARD_NUMBER_LENGTH - VISIBLE_DIGITS, CARD_NUMBER_LENGTH,
+                masked, MASKED_NUMBER_PREFIX.length());
+        return new String(masked);
     }
 
     /**
-     * Генерирует случайный номер карты
+     * Генерирует случайный номер карты. При включенной проверке Луна последняя цифра контрольная
      *
      * @return Сгенерированный номер карты
      */
     public String generateCardNumber() {
-        StringBuilder cardNumber = new StringBuilder();
-        for (int i = 0; i < 16; i++) {
-            cardNumber.append(RANDOM.nextInt(10));
+        char[] cardNumber = new char[CARD_NUMBER_LENGTH];
+        if (luhnCheck) {
+            cardNumberGenerator.fillDigits(cardNumber, CARD_NUMBER_LENGTH - 1);
+            cardNumber[CARD_NUMBER_LENGTH - 1] = luhnCheckDigit(cardNumber);
+        } else {
+            cardNumberGenerator.fillDigits(cardNumber, CARD_NUMBER_LENGTH);
         }
-        return cardNumber.toString();
+        return new String(cardNumber);
     }
 
     /**
@@ -74,13 +86,41 @@ public class CardNumberUtil {
     }
 
     /**
-     * Валидация номера карты
+     * Валидация номера карты: 16 цифр и, если включено, контрольная сумма по алгоритму Луна
      *
      * @param cardNumber номер карты
      * @return boolean верный или нет формат номера
      */
     public boolean validateCardNumber(String cardNumber) {
-        return cardNumber != null && cardNumber.length() == 16 && cardNumber.matches("\\d+");
+        if (cardNumber == null || cardNumber.length() != CARD_NUMBER_LENGTH) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = CARD_NUMBER_LENGTH - 1; i >= 0; i--) {
+            int digit = cardNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            sum += (CARD_NUMBER_LENGTH - i) % 2 == 0 ? doubleDigit(digit) : digit;
+        }
+        return !luhnCheck || sum % 10 == 0;
+    }
+
+    /**
+     * Контрольная цифра по алгоритму Луна для номера без последней цифры
+     */
+    private static char luhnCheckDigit(char[] cardNumber) {
+        int sum = 0;
+        for (int i = CARD_NUMBER_LENGTH - 2; i >= 0; i--) {
+            int digit = cardNumber[i] - '0';
+            sum += (CARD_NUMBER_LENGTH - i) % 2 == 0 ? doubleDigit(digit) : digit;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    private static int doubleDigit(int digit) {
+        int doubled = digit * 2;
+        return doubled > 9 ? doubled - 9 : doubled;
     }
 
 }
@@ -0,0 +1,89 @@
+package com.example.bankcards.util;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Генератор цифр номера карты на {@link SecureRandom}.
+ * Потоки распределяются по полосам по id потока, у каждой полосы свой DRBG и буфер случайных байт,
+ * поэтому параллельные вызовы почти не конкурируют. ThreadLocal не используется: с виртуальными
+ * потоками он создавал бы новый SecureRandom на каждый запрос.
+ * Из одного long берется 18 равномерных цифр, номер из 16 цифр обычно требует одного long
+ */
+@Component
+public class SecureRandomCardNumberGenerator implements CardNumberGenerator {
+    private static final int BUFFER_BYTES = 512;
+    private static final int DIGITS_PER_LONG = 18;
+    private static final long DIGITS_MODULUS = 1_000_000_000_000_000_000L;
+    private static final long REJECTION_LIMIT = 9 * DIGITS_MODULUS;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public SecureRandomCardNumberGenerator() {
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(newSecureRandom());
+        }
+        stripeMask = stripeCount - 1;
+    }
+
+    @Override
+    public void fillDigits(char[] digits, int length) {
+        Stripe stripe = stripes[(int) (Thread.currentThread().threadId() & stripeMask)];
+        stripe.lock.lock();
+        try {
+            int position = 0;
+            while (position < length) {
+                // 63 бита, значения выше 9 * 10^18 отбрасываются, чтобы остаток был равномерным
+                long value = stripe.nextLong() >>> 1;
+                if (value >= REJECTION_LIMIT) {
+                    continue;
+                }
+                value %= DIGITS_MODULUS;
+                int end = Math.min(length, position + DIGITS_PER_LONG);
+                for (; position < end; position++) {
+                    digits[position] = (char) ('0' + value % 10);
+                    value /= 10;
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    /**
+     * Полоса: свой SecureRandom и буфер, доступ под локом
+     */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+        Stripe(SecureRandom random) {
+            this.random = random;
+            buffer.position(BUFFER_BYTES);
+        }
+
+        long nextLong() {
+            if (!buffer.hasRemaining()) {
+                random.nextBytes(buffer.array());
+                buffer.clear();
+            }
+            return buffer.getLong();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bankcards.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты для локального кэша второго уровня")
+class LocalCacheRegionFactoryTest {
+
+    @DisplayName("maxEntries Должен брать размер региона, иначе размер по умолчанию")
+    @Test
+    void maxEntries_ShouldPreferRegionSetting() {
+        LocalCacheRegionFactory factory = new LocalCacheRegionFactory();
+        factory.prepareForUse(null, Map.of(
+                LocalCacheRegionFactory.REGION_MAX_ENTRIES_PREFIX + "card", "500",
+                LocalCacheRegionFactory.DEFAULT_MAX_ENTRIES, "20"));
+
+        assertThat(factory.maxEntries("card")).isEqualTo(500);
+        assertThat(factory.maxEntries("user")).isEqualTo(20);
+    }
+
+    @DisplayName("timeToLive Должен брать время жизни региона, без настройки записи не устаревают")
+    @Test
+    void timeToLive_ShouldReadRegionSetting() {
+        LocalCacheRegionFactory factory = new LocalCacheRegionFactory();
+        factory.prepareForUse(null, Map.of(LocalCacheRegionFactory.REGION_TIME_TO_LIVE_PREFIX + "card", "60"));
+
+        assertThat(factory.timeToLive("card")).isEqualTo(Duration.ofSeconds(60));
+        assertThat(factory.timeToLive("user")).isEqualTo(Duration.ZERO);
+    }
+
+    @DisplayName("getFromCache Должен считать устаревшую запись отсутствующей")
+    @Test
+    void getFromCache_WhenExpired_ShouldReturnNull() {
+        AtomicLong clock = new AtomicLong();
+        LocalCacheRegionFactory.LocalStorageAccess storage =
+                new LocalCacheRegionFactory.LocalStorageAccess(10, Duration.ofSeconds(60), clock::get);
+        storage.putIntoCache(1L, "first", null);
+
+        clock.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertThat(storage.getFromCache(1L, null)).isEqualTo("first");
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(storage.contains(1L)).isFalse();
+        assertThat(storage.getFromCache(1L, null)).isNull();
+        assertThat(storage.size()).isZero();
+    }
+
+    @DisplayName("putIntoCache Должен продлить время жизни при повторной записи")
+    @Test
+    void putIntoCache_ShouldRestartTimeToLive() {
+        AtomicLong clock = new AtomicLong();
+        LocalCacheRegionFactory.LocalStorageAccess storage =
+                new LocalCacheRegionFactory.LocalStorageAccess(10, Duration.ofSeconds(60), clock::get);
+        storage.putIntoCache(1L, "first", null);
+        clock.addAndGet(Duration.ofSeconds(50).toNanos());
+
+        storage.putIntoCache(1L, "second", null);
+        clock.addAndGet(Duration.ofSeconds(50).toNanos());
+
+        assertThat(storage.getFromCache(1L, null)).isEqualTo("second");
+    }
+
+    @DisplayName("putIntoCache Должен вытеснить давно не читанную запись при переполнении")
+    @Test
+    void putIntoCache_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        LocalCacheRegionFactory.LocalStorageAccess storage = new LocalCacheRegionFactory.LocalStorageAccess(2);
+        storage.putIntoCache(1L, "first", null);
+        storage.putIntoCache(2L, "second", null);
+        storage.getFromCache(1L, null);
+
+        storage.putIntoCache(3L, "third", null);
+
+        assertThat(storage.size()).isEqualTo(2);
+        assertThat(storage.contains(1L)).isTrue();
+        assertThat(storage.contains(2L)).isFalse();
+        assertThat(storage.contains(3L)).isTrue();
+    }
+
+    @DisplayName("evictData Должен очистить регион")
+    @Test
+    void evictData_ShouldClearRegion() {
+        LocalCacheRegionFactory.LocalStorageAccess storage = new LocalCacheRegionFactory.LocalStorageAccess(10);
+        storage.putIntoCache(1L, "first", null);
+
+        storage.evictData();
+
+        assertThat(storage.getFromCache(1L, null)).isNull();
+    }
+}
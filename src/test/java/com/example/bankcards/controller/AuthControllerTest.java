@@ -4,11 +4,14 @@ import com.example.bankcards.dto.request.SignInRequest;
 import com.example.bankcards.dto.request.SignUpRequest;
 import com.example.bankcards.dto.response.JwtAuthenticationResponse;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.exception.TooManyRequestsException;
 import com.example.bankcards.exception.UserNotFoundException;
 import com.example.bankcards.mapper.UserMapper;
 import com.example.bankcards.security.JwtService;
+import com.example.bankcards.security.LoginRateLimiter;
 import com.example.bankcards.service.AuthenticationServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +27,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -43,6 +47,10 @@ class AuthControllerTest {
     private PasswordEncoder passwordEncoder;
     @MockitoBean
     private JwtService jwtService;
+    @MockitoBean
+    private MeterRegistry meterRegistry;
+    @MockitoBean
+    private LoginRateLimiter loginRateLimiter;
 
     @Autowired
     private MockMvc mockMvc;
@@ -176,4 +184,34 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(signUpRequest)))
                 .andExpect(status().isInternalServerError());
     }
-}
\ No newline at end of file
+
+    @DisplayName("POST /api/auth/sign-in Должен вернуть 429 при превышении лимита попыток без проверки пароля")
+    @Test
+    void signIn_WhenRateLimited_ShouldReturnTooManyRequests() throws Exception {
+        doThrow(new TooManyRequestsException("Слишком много попыток, повторите позже"))
+                .when(loginRateLimiter).checkSignIn(anyString(), eq("user123"));
+
+        mockMvc.perform(post("/api/auth/sign-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signInRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.error").value("Слишком много попыток, повторите позже"));
+
+        verify(authenticationService, never()).signIn(anyString(), anyString());
+    }
+
+    @DisplayName("POST /api/auth/sign-up Должен вернуть 429 при превышении лимита до хэширования пароля")
+    @Test
+    void signUp_WhenRateLimited_ShouldReturnTooManyRequests() throws Exception {
+        doThrow(new TooManyRequestsException("Слишком много попыток, повторите позже"))
+                .when(loginRateLimiter).checkSignUp(anyString());
+
+        mockMvc.perform(post("/api/auth/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isTooManyRequests());
+
+        verify(userMapper, never()).toEntityWithEncodedPassword(any(SignUpRequest.class), any(PasswordEncoder.class));
+        verify(authenticationService, never()).signUp(any(User.class));
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.request.CardCreateRequest;
+import com.example.bankcards.dto.response.CardMonthlyStatsResponse;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.CardMonthlyStats;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.exception.CardNotFoundException;
@@ -11,8 +13,11 @@ import com.example.bankcards.mapper.CardMapper;
 import com.example.bankcards.security.JwtService;
 import com.example.bankcards.security.UserSecurity;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.CardStatsService;
+import com.example.bankcards.service.CardStreamService;
 import com.example.bankcards.util.CardNumberUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,10 +36,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,12 +56,18 @@ class CardControllerTest {
     @MockitoBean
     private CardService cardService;
     @MockitoBean
+    private CardStreamService cardStreamService;
+    @MockitoBean
+    private CardStatsService cardStatsService;
+    @MockitoBean
     private CardMapper cardMapper;
     @MockitoBean
     private UserSecurity userSecurity;
     @MockitoBean
     private JwtService jwtService;
     @MockitoBean
+    private MeterRegistry meterRegistry;
+    @MockitoBean
     private CardNumberUtil cardNumberUtil;
 
     @Autowired
@@ -158,6 +172,71 @@ class CardControllerTest {
                 .andExpect(jsonPath("$.error").value("Карта не найдена"));
     }
 
+    @DisplayName("GET /api/cards/{cardId}/stats Должен вернуть итоги карты за указанный месяц")
+    @Test
+    void getCardStats_ShouldReturnMonthlyStats() throws Exception {
+        CardMonthlyStats stats = CardMonthlyStats.builder()
+                .cardId(1L)
+                .month(LocalDate.of(2024, 1, 1))
+                .build();
+        CardMonthlyStatsResponse response = new CardMonthlyStatsResponse(1L, YearMonth.of(2024, 1),
+                new BigDecimal("1500.00"), new BigDecimal("700.00"), 5, new BigDecimal("50.00"),
+                new BigDecimal("1000.00"), new BigDecimal("800.00"));
+        when(cardStatsService.getMonthlyStats(1L, YearMonth.of(2024, 1))).thenReturn(stats);
+        when(cardMapper.toResponse(stats)).thenReturn(response);
+
+        mockMvc.perform(get("/api/cards/1/stats").param("month", "2024-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.month").value("2024-01"))
+                .andExpect(jsonPath("$.incoming").value(1500.00))
+                .andExpect(jsonPath("$.transactionCount").value(5))
+                .andExpect(jsonPath("$.closingBalance").value(800.00));
+    }
+
+    @DisplayName("GET /api/cards/{cardId}/stats Должен вернуть 400 при неверном формате месяца")
+    @Test
+    void getCardStats_WhenMonthInvalid_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/cards/1/stats").param("month", "2024-13"))
+                .andExpect(status().isBadRequest());
+
+        verify(cardStatsService, never()).getMonthlyStats(any(), any());
+    }
+
+    @DisplayName("GET /api/cards/{cardId} Должен вернуть ETag версии карты")
+    @Test
+    void getCard_ShouldReturnETag() throws Exception {
+        when(cardService.getCardVersion(1L)).thenReturn("3-0.00");
+        when(cardService.getCardById(1L)).thenReturn(card);
+        when(cardMapper.toResponse(card)).thenReturn(cardResponse);
+
+        mockMvc.perform(get("/api/cards/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"card-1-3-0.00\""));
+    }
+
+    @DisplayName("GET /api/cards/{cardId} Должен вернуть 304 без загрузки карты при совпадении If-None-Match")
+    @Test
+    void getCard_WhenNotModified_ShouldReturnNotModified() throws Exception {
+        when(cardService.getCardVersion(1L)).thenReturn("3-0.00");
+
+        mockMvc.perform(get("/api/cards/1").header("If-None-Match", "\"card-1-3-0.00\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(cardService, never()).getCardById(any());
+    }
+
+    @DisplayName("GET /api/cards/user/{userId} Должен вернуть 304 без загрузки карт при совпадении If-None-Match")
+    @Test
+    void getUserCards_WhenNotModified_ShouldReturnNotModified() throws Exception {
+        when(cardService.getUserCardsVersion(1L)).thenReturn("2-5-7-0.00");
+
+        mockMvc.perform(get("/api/cards/user/1").header("If-None-Match", "\"cards-1-2-5-7-0.00\""))
+                .andExpect(status().isNotModified());
+
+        verify(cardService, never()).getAllUserCards(any(), any());
+    }
+
     @DisplayName("GET /api/cards/user/{userId} Должен успешно получить карты пользователя")
     @Test
     void getUserCards_ShouldReturnUserCardsSuccessfully() throws Exception {
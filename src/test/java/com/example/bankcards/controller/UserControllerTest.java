@@ -12,6 +12,7 @@ import com.example.bankcards.security.JwtService;
 import com.example.bankcards.security.UserSecurity;
 import com.example.bankcards.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -50,6 +51,8 @@ class UserControllerTest {
     private UserSecurity userSecurity;
     @MockitoBean
     private JwtService jwtService;
+    @MockitoBean
+    private MeterRegistry meterRegistry;
 
     @Autowired
     private MockMvc mockMvc;
@@ -147,6 +150,17 @@ class UserControllerTest {
         verify(userService, times(1)).getById(1L);
     }
 
+    @DisplayName("GET /api/users/{userId} Должен вернуть 304 без загрузки пользователя при совпадении If-None-Match")
+    @Test
+    void getUser_WhenNotModified_ShouldReturnNotModified() throws Exception {
+        when(userService.getVersion(1L)).thenReturn(4L);
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"user-1-4\""))
+                .andExpect(status().isNotModified());
+
+        verify(userService, never()).getById(any());
+    }
+
     @DisplayName("GET /api/users/{userId} Должен вернуть 404 когда пользователь не найден")
     @Test
     void getUser_WhenUserNotFound_ShouldReturnNotFound() throws Exception {
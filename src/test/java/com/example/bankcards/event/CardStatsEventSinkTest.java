@@ -0,0 +1,55 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.entity.enums.OutboxEventType;
+import com.example.bankcards.service.CardStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для учета переводов из outbox в месячных итогах")
+class CardStatsEventSinkTest {
+
+    private final CardStatsService cardStatsService = mock(CardStatsService.class);
+    private final CardStatsEventSink sink = new CardStatsEventSink(cardStatsService,
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @SuppressWarnings("unchecked")
+    @DisplayName("publish Должен передать пачкой только события о переводах")
+    @Test
+    void publish_ShouldRecordTransferEventsOnly() {
+        sink.publish(List.of(
+                event(1L, OutboxEventType.TRANSFER_COMPLETED, "{\"id\":10,\"fromCardId\":1,\"toCardId\":2," +
+                        "\"amount\":100.00,\"transactionDate\":\"2025-01-31T23:59:00\",\"status\":\"COMPLETED\"}"),
+                event(2L, OutboxEventType.CARD_CREATED, "{\"id\":3}"),
+                event(3L, OutboxEventType.TRANSFER_COMPLETED, "not json")));
+
+        ArgumentCaptor<List<TransactionResponse>> transfers = ArgumentCaptor.forClass(List.class);
+        verify(cardStatsService, times(1)).recordTransfers(transfers.capture());
+        assertThat(transfers.getValue()).singleElement().satisfies(transfer -> {
+            assertThat(transfer.getId()).isEqualTo(10L);
+            assertThat(transfer.getAmount()).isEqualByComparingTo("100.00");
+        });
+    }
+
+    @DisplayName("publish Не должен обращаться к итогам, если в пачке нет переводов")
+    @Test
+    void publish_WhenNoTransfers_ShouldSkip() {
+        sink.publish(List.of(event(1L, OutboxEventType.CARD_STATUS_CHANGED, "{\"id\":3}")));
+
+        verify(cardStatsService, never()).recordTransfers(any());
+    }
+
+    private static OutboxEvent event(Long id, OutboxEventType type, String payload) {
+        return OutboxEvent.builder().id(id).eventType(type).payload(payload).build();
+    }
+}
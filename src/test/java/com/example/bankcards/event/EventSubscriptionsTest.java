@@ -0,0 +1,42 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.entity.OutboxEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты для подписок на события")
+class EventSubscriptionsTest {
+
+    private final EventSubscriptions subscriptions = new EventSubscriptions();
+
+    @DisplayName("publish Должен доставить события всем подписчикам, даже если один из них упал")
+    @Test
+    void publish_WhenListenerFails_ShouldDeliverToOthers() {
+        List<Long> received = new ArrayList<>();
+        subscriptions.subscribe(event -> {
+            throw new IllegalStateException("broken listener");
+        });
+        subscriptions.subscribe(event -> received.add(event.getId()));
+
+        subscriptions.publish(List.of(OutboxEvent.builder().id(1L).build(), OutboxEvent.builder().id(2L).build()));
+
+        assertThat(received).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("subscribe Должен перестать доставлять события после close")
+    @Test
+    void subscribe_WhenClosed_ShouldStopDelivery() {
+        List<Long> received = new ArrayList<>();
+        EventSubscriptions.Subscription subscription = subscriptions.subscribe(event -> received.add(event.getId()));
+
+        subscription.close();
+        subscriptions.publish(List.of(OutboxEvent.builder().id(1L).build()));
+
+        assertThat(received).isEmpty();
+    }
+}
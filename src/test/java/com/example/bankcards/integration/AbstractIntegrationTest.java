@@ -0,0 +1,180 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.util.CardNumberUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Основа интеграционных тестов: приложение на случайном порту поверх встроенного Postgres.
+ * База и контекст Spring общие для всех тестов, поэтому каждый тест создает своих пользователей
+ * и проверяет только их данные. Остановка без ожидания: открытые потоки SSE иначе держат ее до таймаута
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"auth.rate-limit.enabled=false", "reconciliation.enabled=false",
+                "reconciliation.settle-seconds=0", "server.shutdown=immediate"})
+public abstract class AbstractIntegrationTest {
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    protected static final String TRANSFER_JSON = "{\"fromCardId\":%d,\"toCardId\":%d,\"amount\":%s}";
+    protected static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+    private static final String PASSWORD = "it-password";
+    private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    private static String passwordHash;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CardNumberUtil cardNumberUtil;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    protected BankApiClient client;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeEach
+    void createClient() {
+        client = new BankApiClient("http://localhost:" + port);
+    }
+
+    /**
+     * Создание пользователя с картами и начальным остатком в журнале проводок, вход от его имени
+     *
+     * @param cards количество карт
+     * @return пользователь с id карт и токеном
+     */
+    protected TestUser createUser(int cards) throws IOException, InterruptedException {
+        String username = "it_user_" + USER_SEQUENCE.incrementAndGet();
+        Long userId = jdbcTemplate.queryForObject("INSERT INTO users (username, email, password, role, status) "
+                + "VALUES (?, ?, ?, 'ROLE_USER', 'ACTIVE') RETURNING id", Long.class,
+                username, username + "@it.test", passwordHash());
+
+        List<Long> cardIds = new ArrayList<>(cards);
+        for (int i = 0; i < cards; i++) {
+            String cardNumber = cardNumberUtil.generateCardNumber();
+            Long cardId = jdbcTemplate.queryForObject("INSERT INTO cards (encrypted_card_number, card_holder, "
+                    + "masked_number, balance, expiration_date, status, owner_id) "
+                    + "VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?) RETURNING id", Long.class,
+                    cardNumberUtil.encryptCardNumber(cardNumber), "IT USER " + userId,
+                    cardNumberUtil.maskCardNumber(cardNumber), INITIAL_BALANCE,
+                    Date.valueOf(LocalDate.now().plusYears(3)), userId);
+            jdbcTemplate.update("INSERT INTO ledger_entries (transaction_id, card_id, entry_type, amount, created_at) "
+                    + "VALUES (NULL, ?, 'OPENING', ?, now())", cardId, INITIAL_BALANCE);
+            cardIds.add(cardId);
+        }
+        return new TestUser(userId, cardIds, client.signIn(username, PASSWORD));
+    }
+
+    /**
+     * Перевод карт пользователя на полосы баланса
+     */
+    protected void stripeCards(TestUser user) {
+        jdbcTemplate.update("UPDATE cards SET balance_striped = TRUE WHERE owner_id = ?", user.id());
+        // Запись через JDBC мимо Hibernate, кэш второго уровня о ней не знает
+        user.cardIds().forEach(cardId -> entityManagerFactory.getCache().evict(Card.class, cardId));
+    }
+
+    /**
+     * Синхронный перевод между картами пользователя
+     *
+     * @return созданная транзакция
+     */
+    protected JsonNode transfer(TestUser user, Long fromCardId, Long toCardId, String amount)
+            throws IOException, InterruptedException {
+        JsonNode transaction = OBJECT_MAPPER.readTree(client.postBody("/api/transactions/transfer", user.token(),
+                TRANSFER_JSON.formatted(fromCardId, toCardId, amount), null));
+        assertThat(transaction.get("status").asText()).as("transfer %d -> %d", fromCardId, toCardId)
+                .isEqualTo("COMPLETED");
+        return transaction;
+    }
+
+    /**
+     * Доступный баланс карты: строка карты и полосы
+     */
+    protected BigDecimal availableBalance(Long cardId) {
+        return jdbcTemplate.queryForObject("SELECT c.balance + COALESCE((SELECT SUM(amount) "
+                + "FROM card_balance_stripes WHERE card_id = c.id), 0) FROM cards c WHERE c.id = ?",
+                BigDecimal.class, cardId);
+    }
+
+    /**
+     * Ожидание условия, которое выполняется асинхронно
+     */
+    protected static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as(description).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private String passwordHash() {
+        if (passwordHash == null) {
+            passwordHash = passwordEncoder.encode(PASSWORD);
+        }
+        return passwordHash;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException e) {
+                    // база во временном каталоге, процесс завершается
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Пользователь теста
+     *
+     * @param id      id пользователя
+     * @param cardIds id карт пользователя
+     * @param token   токен после входа
+     */
+    protected record TestUser(Long id, List<Long> cardIds, String token) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bankcards.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты асинхронных переводов")
+class AsyncTransferIntegrationTest extends AbstractIntegrationTest {
+
+    @DisplayName("transfer Должен принять перевод в PENDING и провести его в фоне")
+    @Test
+    void transfer_WhenAsync_ShouldCompleteInBackground() throws Exception {
+        TestUser user = createUser(2);
+        Long fromCardId = user.cardIds().get(0);
+        Long toCardId = user.cardIds().get(1);
+
+        JsonNode accepted = OBJECT_MAPPER.readTree(client.postBody("/api/transactions/transfer?async=true",
+                user.token(), TRANSFER_JSON.formatted(fromCardId, toCardId, "25.00"), null));
+        long transactionId = accepted.get("id").asLong();
+
+        await(() -> "COMPLETED".equals(status(user, transactionId)), "async transfer completed");
+        assertThat(availableBalance(fromCardId)).isEqualByComparingTo("975.00");
+        assertThat(availableBalance(toCardId)).isEqualByComparingTo("1025.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_entries WHERE transaction_id = ?",
+                Long.class, transactionId)).isEqualTo(2);
+    }
+
+    @DisplayName("transfer Должен провести все принятые асинхронные переводы")
+    @Test
+    void transfer_WhenManyAsync_ShouldLeaveNothingPending() throws Exception {
+        TestUser user = createUser(2);
+        String json = TRANSFER_JSON.formatted(user.cardIds().get(0), user.cardIds().get(1), "1.00");
+        for (int i = 0; i < 20; i++) {
+            assertThat(client.post("/api/transactions/transfer?async=true", user.token(), json)).isEqualTo(202);
+        }
+
+        await(() -> countByStatus(user, "COMPLETED") == 20, "async transfers completed");
+        assertThat(countByStatus(user, "PENDING")).isZero();
+        assertThat(countByStatus(user, "FAILED")).isZero();
+        assertThat(availableBalance(user.cardIds().get(1))).isEqualByComparingTo("1020.00");
+    }
+
+    private String status(TestUser user, long transactionId) {
+        try {
+            return OBJECT_MAPPER.readTree(client.getBody("/api/transactions/" + transactionId, user.token()))
+                    .get("status").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long countByStatus(TestUser user, String status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE from_card_id = ? AND status = ?",
+                Long.class, user.cardIds().get(0), status);
+    }
+}
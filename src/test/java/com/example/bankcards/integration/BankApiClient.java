@@ -0,0 +1,175 @@
+package com.example.bankcards.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * HTTP-клиент к API для интеграционных и нагрузочных тестов. Ошибки ввода-вывода возвращаются статусом 599
+ */
+public final class BankApiClient {
+    public static final int IO_ERROR_STATUS = 599;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+
+    public BankApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Вход и получение токена
+     *
+     * @return токен
+     * @throws IllegalStateException если вход не удался
+     */
+    public String signIn(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(signInRequest(username, password),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in failed for " + username + ": " + response.statusCode());
+        }
+        return OBJECT_MAPPER.readTree(response.body()).get("token").asText();
+    }
+
+    /**
+     * Вход как сценарий нагрузки
+     *
+     * @return HTTP статус
+     */
+    public int signInStatus(String username, String password) {
+        return status(signInRequest(username, password));
+    }
+
+    /**
+     * GET запрос с токеном
+     *
+     * @return тело ответа
+     */
+    public String getBody(String path, String token) throws IOException, InterruptedException {
+        return client.send(authorized(path, token).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    /**
+     * GET запрос с токеном как сценарий нагрузки
+     *
+     * @return HTTP статус
+     */
+    public int get(String path, String token) {
+        return status(authorized(path, token).GET().build());
+    }
+
+    /**
+     * GET запрос с токеном и Accept-Encoding: gzip
+     *
+     * @return значение Content-Encoding ответа, пустая строка если ответ не сжат
+     */
+    public String getContentEncoding(String path, String token) throws IOException, InterruptedException {
+        return client.send(authorized(path, token).header("Accept-Encoding", "gzip").GET().build(),
+                HttpResponse.BodyHandlers.discarding()).headers().firstValue("Content-Encoding").orElse("");
+    }
+
+    /**
+     * Условный GET запрос с токеном: с If-None-Match, если ETag уже известен
+     *
+     * @param eTags ETag по пути, обновляется из ответа
+     * @return HTTP статус, 304 если ресурс не изменился
+     */
+    public int getIfNoneMatch(String path, String token, Map<String, String> eTags) {
+        HttpRequest.Builder request = authorized(path, token).GET();
+        String eTag = eTags.get(path);
+        if (eTag != null) {
+            request.header("If-None-Match", eTag);
+        }
+        try {
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            response.headers().firstValue("ETag").ifPresent(value -> eTags.put(path, value));
+            return response.statusCode();
+        } catch (IOException e) {
+            return IO_ERROR_STATUS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IO_ERROR_STATUS;
+        }
+    }
+
+    /**
+     * PATCH запрос без тела с токеном
+     *
+     * @return HTTP статус
+     */
+    public int patch(String path, String token) {
+        return status(authorized(path, token).method("PATCH", HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    /**
+     * POST запрос с JSON телом и токеном как сценарий нагрузки
+     *
+     * @return HTTP статус
+     */
+    public int post(String path, String token, String json) {
+        return status(authorized(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    /**
+     * POST запрос с JSON телом, токеном и ключом идемпотентности
+     *
+     * @param idempotencyKey ключ идемпотентности, null - без ключа
+     * @return тело ответа
+     */
+    public String postBody(String path, String token, String json, String idempotencyKey)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = authorized(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    /**
+     * Открыть поток Server-Sent Events с токеном
+     *
+     * @return строки потока, закрытие потока закрывает соединение
+     */
+    public Stream<String> stream(String path, String token) throws IOException, InterruptedException {
+        return client.send(authorized(path, token).header("Accept", "text/event-stream").GET().build(),
+                HttpResponse.BodyHandlers.ofLines()).body();
+    }
+
+    private HttpRequest signInRequest(String username, String password) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/sign-in"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"%s\",\"password\":\"%s\"}".formatted(username, password)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private int status(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return IO_ERROR_STATUS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IO_ERROR_STATUS;
+        }
+    }
+}
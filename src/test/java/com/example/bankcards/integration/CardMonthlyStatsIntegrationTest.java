@@ -0,0 +1,79 @@
+package com.example.bankcards.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты месячной статистики карт")
+class CardMonthlyStatsIntegrationTest extends AbstractIntegrationTest {
+
+    @DisplayName("getStats Должен посчитать итоги месяца по проведенным переводам")
+    @Test
+    void getStats_ShouldSumCompletedTransfersOfMonth() throws Exception {
+        TestUser user = createUser(2);
+        Long cardId = user.cardIds().get(0);
+        Long otherCardId = user.cardIds().get(1);
+        transfer(user, cardId, otherCardId, "100.00");
+        transfer(user, cardId, otherCardId, "20.00");
+        transfer(user, otherCardId, cardId, "5.00");
+
+        // Итоги обновляет ретранслятор outbox после коммита переводов
+        await(() -> stats(user, cardId, "").get("transactionCount").asLong() == 3, "stats folded from outbox");
+        JsonNode stats = stats(user, cardId, "");
+
+        assertThat(stats.get("incoming").decimalValue()).isEqualByComparingTo("5.00");
+        assertThat(stats.get("outgoing").decimalValue()).isEqualByComparingTo("120.00");
+        assertThat(stats.get("closingBalance").decimalValue()).isEqualByComparingTo("885.00");
+    }
+
+    @DisplayName("getStats Должен учесть зачисления в полосы карты и вернуть баланс с полосами")
+    @Test
+    void getStats_WhenCardStriped_ShouldCountStripeCredits() throws Exception {
+        TestUser user = createUser(2);
+        stripeCards(user);
+        Long cardId = user.cardIds().get(0);
+        for (int i = 0; i < 10; i++) {
+            transfer(user, user.cardIds().get(1), cardId, "10.00");
+        }
+
+        await(() -> stats(user, cardId, "").get("transactionCount").asLong() == 10, "stats folded from outbox");
+        JsonNode stats = stats(user, cardId, "");
+
+        assertThat(stats.get("incoming").decimalValue()).isEqualByComparingTo("100.00");
+        assertThat(stats.get("closingBalance").decimalValue()).isEqualByComparingTo(availableBalance(cardId))
+                .isEqualByComparingTo("1100.00");
+    }
+
+    @DisplayName("getStats Должен вернуть нули и баланс по журналу на конец месяца без переводов")
+    @Test
+    void getStats_WhenNoTransfersInMonth_ShouldReturnZeros() throws Exception {
+        TestUser user = createUser(2);
+        Long cardId = user.cardIds().get(0);
+        transfer(user, cardId, user.cardIds().get(1), "100.00");
+        await(() -> stats(user, cardId, "").get("transactionCount").asLong() == 1, "stats folded from outbox");
+
+        // Начальный баланс тестовой карты проведен в журнал в этом месяце, на конец прошлого ее баланс нулевой
+        JsonNode stats = stats(user, cardId, "?month=" + YearMonth.now().minusMonths(1));
+
+        assertThat(stats.get("transactionCount").asLong()).isZero();
+        assertThat(stats.get("outgoing").decimalValue()).isEqualByComparingTo("0");
+        assertThat(stats.get("closingBalance").decimalValue()).isEqualByComparingTo("0");
+    }
+
+    private JsonNode stats(TestUser user, Long cardId, String query) {
+        try {
+            return OBJECT_MAPPER.readTree(client.getBody("/api/cards/" + cardId + "/stats" + query, user.token()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.service.LedgerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты смены статуса карты")
+class CardStatusIntegrationTest extends AbstractIntegrationTest {
+    private static final int ROUNDS = 10;
+    private static final int TRANSFERS_PER_ROUND = 4;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @DisplayName("blockCard Должен не затирать баланс перевода, закоммиченного во время блокировки")
+    @Test
+    void blockCard_WhenTransferCommitsConcurrently_ShouldKeepBalanceMatchingLedger() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int round = 0; round < ROUNDS; round++) {
+                TestUser user = createUser(2);
+                Long fromCardId = user.cardIds().get(0);
+                Long toCardId = user.cardIds().get(1);
+                // Карта в кэше второго уровня: блокировка читает ее оттуда, пока переводы идут в БД
+                cardRepository.findById(toCardId);
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<CompletableFuture<Integer>> requests = new ArrayList<>();
+                for (int i = 0; i < TRANSFERS_PER_ROUND; i++) {
+                    requests.add(CompletableFuture.supplyAsync(() -> {
+                        awaitStart(start);
+                        return client.post("/api/transactions/transfer", user.token(),
+                                TRANSFER_JSON.formatted(fromCardId, toCardId, "10.00"));
+                    }, executor));
+                }
+                requests.add(CompletableFuture.supplyAsync(() -> {
+                    awaitStart(start);
+                    return client.patch("/api/cards/" + toCardId + "/block", user.token());
+                }, executor));
+                start.countDown();
+                CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+
+                assertThat(requests.getLast().join()).as("block status").isEqualTo(200);
+                for (Long cardId : user.cardIds()) {
+                    assertThat(availableBalance(cardId)).as("card %d balance matches ledger", cardId)
+                            .isEqualByComparingTo(ledgerService.getLedgerBalance(cardId));
+                }
+            }
+        }
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.bankcards.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты потока обновлений карт")
+class CardStreamIntegrationTest extends AbstractIntegrationTest {
+
+    @DisplayName("stream Должен отдать снимок карт и обновления обеих карт после перевода")
+    @Test
+    void stream_ShouldSendSnapshotAndTransferUpdates() throws Exception {
+        TestUser user = createUser(2);
+        List<String> events = new CopyOnWriteArrayList<>();
+
+        try (Stream<String> lines = client.stream("/api/cards/user/" + user.id() + "/stream", user.token())) {
+            Thread.ofVirtual().start(() -> {
+                try {
+                    lines.filter(line -> line.startsWith("data:")).forEach(events::add);
+                } catch (UncheckedIOException e) {
+                    // соединение закрыто тестом
+                }
+            });
+            await(() -> events.size() >= 2, "card stream snapshot");
+
+            transfer(user, user.cardIds().get(0), user.cardIds().get(1), "10.00");
+            await(() -> events.size() >= 4, "card stream transfer update");
+        }
+
+        List<String> updates = events.subList(2, 4);
+        assertThat(updates).anySatisfy(event -> assertThat(event).contains("\"cardId\":" + user.cardIds().get(0))
+                .contains("\"balance\":990"));
+        assertThat(updates).anySatisfy(event -> assertThat(event).contains("\"cardId\":" + user.cardIds().get(1))
+                .contains("\"balance\":1010"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bankcards.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты условных GET запросов")
+class ConditionalGetIntegrationTest extends AbstractIntegrationTest {
+
+    @DisplayName("get Должен ответить 304 на неизменный ресурс и 200 после изменения баланса карты")
+    @Test
+    void get_WhenNotModified_ShouldReturn304UntilBalanceChanges() throws Exception {
+        TestUser user = createUser(2);
+        stripeCards(user);
+        Map<String, String> eTags = new HashMap<>();
+        String card = "/api/cards/" + user.cardIds().get(1);
+        String userCards = "/api/cards/user/" + user.id() + "?page=0&size=10";
+        String profile = "/api/users/" + user.id();
+
+        for (String path : List.of(card, userCards, profile)) {
+            assertThat(client.getIfNoneMatch(path, user.token(), eTags)).as(path).isEqualTo(200);
+            assertThat(client.getIfNoneMatch(path, user.token(), eTags)).as(path).isEqualTo(304);
+        }
+        // Зачисление на полосатую карту не трогает строку карты, но меняет ее баланс
+        transfer(user, user.cardIds().get(0), user.cardIds().get(1), "10.00");
+
+        assertThat(client.getIfNoneMatch(card, user.token(), eTags)).isEqualTo(200);
+        assertThat(client.getIfNoneMatch(userCards, user.token(), eTags)).isEqualTo(200);
+        assertThat(client.getIfNoneMatch(profile, user.token(), eTags)).isEqualTo(304);
+    }
+}
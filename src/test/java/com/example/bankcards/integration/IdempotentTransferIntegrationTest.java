@@ -0,0 +1,63 @@
+package com.example.bankcards.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты переводов с ключом идемпотентности")
+class IdempotentTransferIntegrationTest extends AbstractIntegrationTest {
+
+    @DisplayName("transfer Должен вернуть тот же перевод на повтор с тем же ключом и провести его один раз")
+    @Test
+    void transfer_WhenRetriedWithSameKey_ShouldReturnSameTransaction() throws Exception {
+        TestUser user = createUser(2);
+        String json = TRANSFER_JSON.formatted(user.cardIds().get(0), user.cardIds().get(1), "10.00");
+
+        JsonNode first = OBJECT_MAPPER.readTree(
+                client.postBody("/api/transactions/transfer", user.token(), json, "it-retry"));
+        JsonNode retry = OBJECT_MAPPER.readTree(
+                client.postBody("/api/transactions/transfer", user.token(), json, "it-retry"));
+
+        assertThat(retry.get("id").asLong()).isEqualTo(first.get("id").asLong());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE from_card_id = ?",
+                Long.class, user.cardIds().get(0))).isEqualTo(1);
+        assertThat(availableBalance(user.cardIds().get(0))).isEqualByComparingTo("990.00");
+    }
+
+    @DisplayName("transfer Должен провести перевод с новым ключом как новый")
+    @Test
+    void transfer_WhenKeyDiffers_ShouldCreateNewTransaction() throws Exception {
+        TestUser user = createUser(2);
+        String json = TRANSFER_JSON.formatted(user.cardIds().get(0), user.cardIds().get(1), "10.00");
+
+        JsonNode first = OBJECT_MAPPER.readTree(
+                client.postBody("/api/transactions/transfer", user.token(), json, "it-first"));
+        JsonNode second = OBJECT_MAPPER.readTree(
+                client.postBody("/api/transactions/transfer", user.token(), json, "it-second"));
+
+        assertThat(second.get("id").asLong()).isNotEqualTo(first.get("id").asLong());
+        assertThat(availableBalance(user.cardIds().get(0))).isEqualByComparingTo("980.00");
+    }
+
+    @DisplayName("transfer Должен отклонить повтор ключа с другим запросом и не проводить его")
+    @Test
+    void transfer_WhenKeyReusedWithOtherRequest_ShouldReject() throws Exception {
+        TestUser user = createUser(2);
+        Long fromCardId = user.cardIds().get(0);
+        Long toCardId = user.cardIds().get(1);
+        client.postBody("/api/transactions/transfer", user.token(),
+                TRANSFER_JSON.formatted(fromCardId, toCardId, "10.00"), "it-reused");
+
+        JsonNode rejected = OBJECT_MAPPER.readTree(client.postBody("/api/transactions/transfer", user.token(),
+                TRANSFER_JSON.formatted(fromCardId, toCardId, "500.00"), "it-reused"));
+        // Та же сумма в другой записи считается тем же запросом
+        JsonNode retry = OBJECT_MAPPER.readTree(client.postBody("/api/transactions/transfer", user.token(),
+                TRANSFER_JSON.formatted(fromCardId, toCardId, "10.0"), "it-reused"));
+
+        assertThat(rejected.get("error").asText()).contains("другим запросом");
+        assertThat(retry.has("id")).isTrue();
+        assertThat(availableBalance(fromCardId)).isEqualByComparingTo("990.00");
+    }
+}
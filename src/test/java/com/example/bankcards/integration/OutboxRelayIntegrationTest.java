@@ -0,0 +1,48 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.entity.enums.OutboxEventType;
+import com.example.bankcards.event.EventSubscriptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты доставки событий через outbox")
+class OutboxRelayIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private EventSubscriptions eventSubscriptions;
+
+    @DisplayName("relay Должен доставить подписчику событие о каждом проведенном переводе")
+    @Test
+    void relay_ShouldDeliverEventPerCompletedTransfer() throws Exception {
+        TestUser user = createUser(2);
+        List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+
+        try (EventSubscriptions.Subscription ignored = eventSubscriptions.subscribe(event -> {
+            if (event.getEventType() == OutboxEventType.TRANSFER_COMPLETED && user.id().equals(event.getUserId())) {
+                events.add(event);
+            }
+        })) {
+            Set<Long> transactionIds = new HashSet<>();
+            for (int i = 0; i < 5; i++) {
+                transactionIds.add(transfer(user, user.cardIds().get(0), user.cardIds().get(1), "1.00")
+                        .get("id").asLong());
+            }
+
+            await(() -> events.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet())
+                    .containsAll(transactionIds), "transfer events delivered");
+            assertThat(events).extracting(OutboxEvent::getAggregateId).isSubsetOf(transactionIds);
+        }
+        await(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE user_id = ?",
+                Long.class, user.id()) == 0, "outbox drained");
+    }
+}
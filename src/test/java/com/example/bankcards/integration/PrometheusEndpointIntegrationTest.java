@@ -0,0 +1,44 @@
+package com.example.bankcards.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// В тестах экспорт метрик выключен, без него эндпоинта prometheus нет
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Интеграционные тесты доступа к метрикам Prometheus")
+class PrometheusEndpointIntegrationTest extends AbstractIntegrationTest {
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @DisplayName("prometheus Должен отдавать метрики без токена только на порту актуатора")
+    @Test
+    void prometheus_ShouldBePublicOnlyOnManagementPort() throws Exception {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+
+        HttpResponse<String> metrics = scrape(managementPort);
+        assertThat(metrics.statusCode()).isEqualTo(200);
+        assertThat(metrics.body()).contains("hikaricp_connections");
+
+        assertThat(scrape(serverPort).statusCode()).isEqualTo(401);
+    }
+
+    private static HttpResponse<String> scrape(int port) throws Exception {
+        return HTTP_CLIENT.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/actuator/prometheus"))
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
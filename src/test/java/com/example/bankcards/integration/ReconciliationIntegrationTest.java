@@ -0,0 +1,90 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.ReconciliationRun;
+import com.example.bankcards.service.ReconciliationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Интеграционные тесты сверки балансов с журналом проводок")
+class ReconciliationIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @BeforeEach
+    void signInAsAdmin() {
+        // Сервис сверки вызывается в потоке теста и доступен только админу
+        authenticate("ROLE_ADMIN");
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("reconcile Должен отказать пользователю без роли админа")
+    @Test
+    void reconcile_WhenNotAdmin_ShouldDenyAccess() {
+        authenticate("ROLE_USER");
+
+        assertThatThrownBy(() -> reconciliationService.reconcile()).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> reconciliationService.getLatestRun()).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> reconciliationService.getMismatches(1L, Pageable.unpaged()))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @DisplayName("reconcile Должен сойтись с журналом и продолжить со своей контрольной точки")
+    @Test
+    void reconcile_ShouldMatchLedgerAndResumeFromCheckpoint() throws Exception {
+        TestUser user = createUser(2);
+        transfer(user, user.cardIds().get(0), user.cardIds().get(1), "10.00");
+
+        ReconciliationRun fullRun = reconciliationService.reconcile();
+        transfer(user, user.cardIds().get(1), user.cardIds().get(0), "5.00");
+        ReconciliationRun incrementalRun = reconciliationService.reconcile();
+
+        assertThat(fullRun.getMismatches()).isZero();
+        assertThat(incrementalRun.getMismatches()).isZero();
+        assertThat(incrementalRun.getFromEntryId()).isEqualTo(fullRun.getCheckpointEntryId());
+        assertThat(incrementalRun.getCheckpointEntryId()).isGreaterThan(fullRun.getCheckpointEntryId());
+    }
+
+    @DisplayName("reconcile Должен найти карту, баланс которой изменен мимо журнала")
+    @Test
+    void reconcile_WhenBalanceChangedOutsideLedger_ShouldReportMismatch() throws Exception {
+        TestUser user = createUser(2);
+        Long cardId = user.cardIds().get(0);
+        reconciliationService.reconcile();
+
+        jdbcTemplate.update("UPDATE cards SET balance = balance + 1 WHERE id = ?", cardId);
+        try {
+            ReconciliationRun run = reconciliationService.reconcile();
+
+            assertThat(run.getMismatches()).isEqualTo(1);
+            assertThat(reconciliationService.getMismatches(run.getId(), Pageable.unpaged()).getContent())
+                    .singleElement()
+                    .satisfies(mismatch -> assertThat(mismatch.getCardId()).isEqualTo(cardId));
+        } finally {
+            jdbcTemplate.update("UPDATE cards SET balance = balance - 1 WHERE id = ?", cardId);
+        }
+        assertThat(reconciliationService.reconcile().getMismatches()).isZero();
+    }
+
+    private static void authenticate(String role) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "it-" + role, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}
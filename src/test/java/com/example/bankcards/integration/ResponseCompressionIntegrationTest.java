@@ -0,0 +1,18 @@
+package com.example.bankcards.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты сжатия ответов")
+class ResponseCompressionIntegrationTest extends AbstractIntegrationTest {
+
+    @DisplayName("get Должен сжать крупный JSON ответ, если клиент принимает gzip")
+    @Test
+    void get_WhenLargeResponse_ShouldCompressWithGzip() throws Exception {
+        TestUser user = createUser(1);
+
+        assertThat(client.getContentEncoding("/api-docs/api-docs", user.token())).isEqualTo("gzip");
+    }
+}
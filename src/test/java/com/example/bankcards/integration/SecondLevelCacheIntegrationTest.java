@@ -0,0 +1,45 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import jakarta.persistence.Cache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты кэша второго уровня")
+class SecondLevelCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @DisplayName("transfer Должен вытеснить из кэша только карты перевода и оставить пользователя")
+    @Test
+    void transfer_ShouldEvictTransferCardsAndKeepOthers() throws Exception {
+        TestUser user = createUser(3);
+        Long cardId = user.cardIds().get(0);
+        Long otherCardId = user.cardIds().get(2);
+        Cache cache = entityManagerFactory.getCache();
+        cardRepository.findById(cardId);
+        cardRepository.findById(otherCardId);
+        userRepository.findById(user.id());
+        assertThat(cache.contains(Card.class, cardId)).isTrue();
+        assertThat(cache.contains(Card.class, otherCardId)).isTrue();
+        assertThat(cache.contains(User.class, user.id())).isTrue();
+
+        transfer(user, cardId, user.cardIds().get(1), "10.00");
+
+        assertThat(cache.contains(Card.class, cardId)).as("card evicted by balance update").isFalse();
+        assertThat(cache.contains(Card.class, otherCardId)).as("card region kept").isTrue();
+        assertThat(cache.contains(User.class, user.id())).as("user region kept").isTrue();
+        assertThat(cardRepository.findById(cardId)).get()
+                .satisfies(card -> assertThat(card.getBalance()).isEqualByComparingTo("990.00"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.bankcards.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты фильтров истории транзакций")
+class TransactionHistoryFilterIntegrationTest extends AbstractIntegrationTest {
+    private final LocalDate today = LocalDate.now();
+
+    private TestUser user;
+    private Long cardId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = createUser(2);
+        cardId = user.cardIds().get(0);
+        Long otherCardId = user.cardIds().get(1);
+        // История только для чтения: строки транзакций без проводок, балансы карт не меняются
+        insert(cardId, otherCardId, "50.00", today.atTime(12, 0), "COMPLETED");
+        insert(otherCardId, cardId, "600.00", today.atTime(12, 0), "COMPLETED");
+        insert(cardId, otherCardId, "50.00", today.atTime(12, 0), "FAILED");
+        insert(cardId, otherCardId, "0.50", today.atTime(12, 0), "COMPLETED");
+        insert(cardId, otherCardId, "70.00", today.minusDays(10).atStartOfDay(), "COMPLETED");
+        insert(cardId, otherCardId, "80.00", today.minusMonths(2).atTime(9, 30), "COMPLETED");
+        insert(otherCardId, otherCardId, "90.00", today.atTime(12, 0), "COMPLETED");
+    }
+
+    @DisplayName("getCardTransactions Должен вернуть только строки, прошедшие все фильтры")
+    @Test
+    void getCardTransactions_WhenFiltered_ShouldReturnMatchingOnly() throws Exception {
+        JsonNode page = OBJECT_MAPPER.readTree(client.getBody("/api/transactions/card/" + cardId
+                + "?size=100&status=COMPLETED&minAmount=1&maxAmount=500&from=" + today.minusDays(10)
+                + "&to=" + today, user.token()));
+
+        assertThat(page.get("totalElements").asLong()).isEqualTo(2);
+        assertThat(page.get("content")).allSatisfy(transaction -> {
+            assertThat(transaction.get("status").asText()).isEqualTo("COMPLETED");
+            assertThat(transaction.get("amount").decimalValue()).isBetween(BigDecimal.ONE, BigDecimal.valueOf(500));
+        });
+    }
+
+    @DisplayName("getCardTransactions Должен включить весь день to и не включить день до from")
+    @Test
+    void getCardTransactions_WhenDateBounds_ShouldIncludeWholeLastDay() throws Exception {
+        JsonNode page = OBJECT_MAPPER.readTree(client.getBody("/api/transactions/card/" + cardId
+                + "?size=100&from=" + today + "&to=" + today, user.token()));
+
+        assertThat(page.get("totalElements").asLong()).isEqualTo(4);
+    }
+
+    @DisplayName("getCardTransactions Должен вернуть всю историю карты без фильтров")
+    @Test
+    void getCardTransactions_WhenNoFilter_ShouldReturnAll() throws Exception {
+        JsonNode page = OBJECT_MAPPER.readTree(client.getBody("/api/transactions/card/" + cardId + "?size=100",
+                user.token()));
+
+        assertThat(page.get("totalElements").asLong()).isEqualTo(6);
+    }
+
+    @DisplayName("getCardTransactions Должен вернуть 400, если from позже to")
+    @Test
+    void getCardTransactions_WhenFromAfterTo_ShouldReturnBadRequest() {
+        assertThat(client.get("/api/transactions/card/" + cardId + "?from=" + today + "&to=" + today.minusDays(1),
+                user.token())).isEqualTo(400);
+    }
+
+    private void insert(Long fromCardId, Long toCardId, String amount, LocalDateTime date, String status) {
+        jdbcTemplate.update("INSERT INTO transactions (from_card_id, to_card_id, amount, transaction_date, status, "
+                + "description) VALUES (?, ?, ?, ?, ?, 'History filter test')", fromCardId, toCardId,
+                new BigDecimal(amount), Timestamp.valueOf(date), status);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bankcards.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты секционирования transactions")
+class TransactionPartitioningIntegrationTest extends AbstractIntegrationTest {
+    private static final DateTimeFormatter PARTITION = DateTimeFormatter.ofPattern("'transactions_'yyyy_MM");
+
+    private final LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+    @DisplayName("transfer Должен записать транзакцию в секцию текущего месяца")
+    @Test
+    void transfer_ShouldRouteToCurrentMonthPartition() throws Exception {
+        TestUser user = createUser(2);
+
+        long transactionId = transfer(user, user.cardIds().get(0), user.cardIds().get(1), "10.00").get("id").asLong();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM transactions WHERE id = ?",
+                String.class, transactionId)).isEqualTo(month.format(PARTITION));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ONLY transactions_default", Long.class))
+                .as("no rows outside monthly partitions").isZero();
+    }
+
+    @DisplayName("maintain Должен заранее создать секции на три месяца вперед")
+    @Test
+    void maintain_ShouldCreatePartitionsAhead() {
+        for (int i = 0; i <= 3; i++) {
+            assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                    month.plusMonths(i).format(PARTITION))).as("partition +%d", i).isTrue();
+        }
+    }
+
+    @DisplayName("query Должен читать только секцию месяца при фильтре по дате")
+    @Test
+    void query_WhenBoundedByDate_ShouldPruneOtherPartitions() {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT COUNT(*) FROM transactions "
+                + "WHERE transaction_date >= '%s' AND transaction_date < '%s'".formatted(month, month.plusMonths(1)),
+                String.class));
+
+        assertThat(plan).contains(month.format(PARTITION))
+                .doesNotContain("transactions_default")
+                .doesNotContain(month.plusMonths(3).format(PARTITION));
+    }
+}
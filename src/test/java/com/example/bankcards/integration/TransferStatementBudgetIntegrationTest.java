@@ -0,0 +1,89 @@
+package com.example.bankcards.integration;
+
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.metrics.SqlStatementBudgetProperties;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.IdempotencyService;
+import com.example.bankcards.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+
+import static com.example.bankcards.metrics.SqlStatementAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Интеграционные тесты бюджета SQL-запросов перевода")
+class TransferStatementBudgetIntegrationTest extends AbstractIntegrationTest {
+    private static final String TRANSFER_ENDPOINT = "POST /api/transactions/transfer";
+    // Над сервисом в HTTP-запросе фильтр JWT загружает пользователя
+    private static final int AUTHENTICATION_STATEMENTS = 1;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlStatementBudgetProperties budgetProperties;
+
+    private TestUser user;
+    private int budget;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = createUser(2);
+        budget = budgetProperties.budgetFor(TRANSFER_ENDPOINT) - AUTHENTICATION_STATEMENTS;
+        // Сервис вызывается в потоке теста, счетчик SQL-запросов привязан к потоку
+        User principal = userRepository.findById(user.id()).orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("transferBetweenOwnCards Должен уложиться в бюджет эндпоинта перевода")
+    @Test
+    void transferBetweenOwnCards_ShouldFitStatementBudget() throws Throwable {
+        assertMaxStatements(budget, () -> directTransfer(user.cardIds().get(0), user.cardIds().get(1), "10.00"));
+    }
+
+    @DisplayName("transferBetweenOwnCards Должен уложиться в бюджет с ключом идемпотентности")
+    @Test
+    void transferBetweenOwnCards_WhenIdempotencyKey_ShouldFitStatementBudget() throws Throwable {
+        assertMaxStatements(budget, () -> idempotencyService.execute(user.id(), "budget-key", "budget",
+                () -> directTransfer(user.cardIds().get(0), user.cardIds().get(1), "10.00")));
+    }
+
+    @DisplayName("transferBetweenOwnCards Должен уложиться в бюджет с ключом и сверткой полос карты списания")
+    @Test
+    void transferBetweenOwnCards_WhenKeyedAndStripesFolded_ShouldFitStatementBudget() throws Throwable {
+        stripeCards(user);
+        Long cardId = user.cardIds().get(0);
+        // Зачисление уходит в полосу: строке карты не хватит на следующее списание без свертки
+        directTransfer(user.cardIds().get(1), cardId, "500.00");
+
+        assertMaxStatements(budget, () -> idempotencyService.execute(user.id(), "budget-fold-key", "budget",
+                () -> directTransfer(cardId, user.cardIds().get(1), "1200.00")));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card_balance_stripes WHERE card_id = ?",
+                Long.class, cardId)).as("stripes folded").isZero();
+    }
+
+    private Transaction directTransfer(Long fromCardId, Long toCardId, String amount) {
+        return transactionService.transferBetweenOwnCards(user.id(), fromCardId, toCardId, new BigDecimal(amount),
+                "Statement budget");
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.bankcards.metrics;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверки количества SQL-запросов для тестов, работающих с реальной БД.
+ * Считает запросы, прошедшие через {@link SqlStatementCounter} в текущем потоке
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Выполняет действие и проверяет, что оно выполнило не больше maxStatements запросов
+     *
+     * @param maxStatements максимальное количество запросов
+     * @param action        проверяемое действие
+     * @return фактическое количество запросов
+     */
+    public static long assertMaxStatements(long maxStatements, ThrowingCallable action) throws Throwable {
+        long statements = countStatements(action);
+        assertThat(statements)
+                .as("Количество SQL-запросов")
+                .isLessThanOrEqualTo(maxStatements);
+        return statements;
+    }
+
+    /**
+     * Выполняет действие и возвращает количество выполненных запросов
+     *
+     * @param action действие
+     * @return количество SQL-запросов
+     */
+    public static long countStatements(ThrowingCallable action) throws Throwable {
+        SqlStatementCounter.reset();
+        try {
+            action.call();
+            return SqlStatementCounter.count();
+        } finally {
+            SqlStatementCounter.reset();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.bankcards.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.example.bankcards.metrics.SqlStatementAssertions.assertMaxStatements;
+import static com.example.bankcards.metrics.SqlStatementAssertions.countStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты для счетчика SQL-запросов")
+class SqlStatementCounterTest {
+
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter();
+    }
+
+    @DisplayName("inspect Должен вернуть SQL без изменений и увеличить счетчик")
+    @Test
+    void inspect_ShouldCountAndReturnSameSql() throws Throwable {
+        long statements = countStatements(() -> {
+            assertThat(counter.inspect("select 1")).isEqualTo("select 1");
+            counter.inspect("select 2");
+        });
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(SqlStatementCounter.count()).isZero();
+    }
+
+    @DisplayName("assertMaxStatements Должен упасть при превышении бюджета")
+    @Test
+    void assertMaxStatements_WhenBudgetExceeded_ShouldFail() {
+        assertThatThrownBy(() -> assertMaxStatements(1, () -> {
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+        })).isInstanceOf(AssertionError.class);
+    }
+
+    @DisplayName("count Должен считать запросы отдельно для каждого потока")
+    @Test
+    void count_ShouldBeThreadLocal() throws Exception {
+        SqlStatementCounter.reset();
+        counter.inspect("select 1");
+
+        Thread other = new Thread(() -> counter.inspect("select 2"));
+        other.start();
+        other.join();
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+        SqlStatementCounter.reset();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты для аспекта замера времени операций")
+class TimedOperationAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransferOperation proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TransferOperation());
+        factory.addAspect(new TimedOperationAspect(meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @DisplayName("time Должен записать успешный вызов с outcome SUCCESS")
+    @Test
+    void time_WhenSuccess_ShouldRecordSuccessOutcome() {
+        proxy.transfer(false);
+
+        assertThat(meterRegistry.get("test.transfer")
+                .tag("outcome", "SUCCESS")
+                .tag("exception", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("time Должен записать тип исключения и outcome ERROR")
+    @Test
+    void time_WhenException_ShouldRecordExceptionType() {
+        assertThatThrownBy(() -> proxy.transfer(true))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(meterRegistry.get("test.transfer")
+                .tag("outcome", "ERROR")
+                .tag("exception", "InsufficientFundsException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    static class TransferOperation {
+        @TimedOperation("test.transfer")
+        public void transfer(boolean fail) {
+            if (fail) {
+                throw new InsufficientFundsException("Недостаточно средств на карте отправителя");
+            }
+        }
+    }
+}
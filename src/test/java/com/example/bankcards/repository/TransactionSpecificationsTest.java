@@ -0,0 +1,107 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.request.TransactionFilter;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.entity.enums.TransactionStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для условий выборки истории транзакций")
+@ExtendWith(MockitoExtension.class)
+class TransactionSpecificationsTest {
+
+    @Mock
+    private Root<Transaction> root;
+    @Mock
+    private CriteriaQuery<?> query;
+    @Mock
+    private CriteriaBuilder cb;
+    @Mock
+    private Path<LocalDateTime> transactionDate;
+    @Mock
+    private Path<BigDecimal> amount;
+    @Mock
+    private Path<TransactionStatus> status;
+    @Mock
+    private Predicate predicate;
+    @Mock
+    private Predicate from;
+    @Mock
+    private Predicate to;
+    @Mock
+    private Predicate minAmount;
+    @Mock
+    private Predicate maxAmount;
+    @Mock
+    private Predicate statusEquals;
+
+    @DisplayName("matches Должен задать период полуинтервалом: с начала дня from до начала дня после to")
+    @Test
+    void matches_WithPeriod_ShouldUseHalfOpenDateBound() {
+        doReturn(transactionDate).when(root).get("transactionDate");
+        when(cb.greaterThanOrEqualTo(transactionDate, LocalDateTime.of(2025, 1, 1, 0, 0))).thenReturn(from);
+        when(cb.lessThan(transactionDate, LocalDateTime.of(2025, 2, 1, 0, 0))).thenReturn(to);
+        when(cb.and(new Predicate[]{from, to})).thenReturn(predicate);
+        TransactionFilter filter = TransactionFilter.builder()
+                .from(LocalDate.of(2025, 1, 1))
+                .to(LocalDate.of(2025, 1, 31))
+                .build();
+
+        assertThat(TransactionSpecifications.matches(filter).toPredicate(root, query, cb)).isSameAs(predicate);
+
+        verify(cb, never()).lessThanOrEqualTo(eq(transactionDate), any(LocalDateTime.class));
+    }
+
+    @DisplayName("matches Должен ограничить сумму включительно с обеих сторон")
+    @Test
+    void matches_WithAmountRange_ShouldBoundAmountInclusively() {
+        doReturn(amount).when(root).get("amount");
+        when(cb.greaterThanOrEqualTo(amount, new BigDecimal("100"))).thenReturn(minAmount);
+        when(cb.lessThanOrEqualTo(amount, new BigDecimal("500"))).thenReturn(maxAmount);
+        when(cb.and(new Predicate[]{minAmount, maxAmount})).thenReturn(predicate);
+        TransactionFilter filter = TransactionFilter.builder()
+                .minAmount(new BigDecimal("100"))
+                .maxAmount(new BigDecimal("500"))
+                .build();
+
+        assertThat(TransactionSpecifications.matches(filter).toPredicate(root, query, cb)).isSameAs(predicate);
+    }
+
+    @DisplayName("matches Должен отобрать транзакции по статусу")
+    @Test
+    void matches_WithStatus_ShouldFilterByStatus() {
+        doReturn(status).when(root).get("status");
+        when(cb.equal(status, TransactionStatus.FAILED)).thenReturn(statusEquals);
+        when(cb.and(statusEquals)).thenReturn(predicate);
+        TransactionFilter filter = TransactionFilter.builder().status(TransactionStatus.FAILED).build();
+
+        assertThat(TransactionSpecifications.matches(filter).toPredicate(root, query, cb)).isSameAs(predicate);
+    }
+
+    @DisplayName("matches Должен не ограничивать выборку без фильтра и с пустым фильтром")
+    @Test
+    void matches_WhenFilterEmpty_ShouldNotRestrict() {
+        when(cb.and()).thenReturn(predicate);
+
+        assertThat(TransactionSpecifications.matches(null).toPredicate(root, query, cb)).isSameAs(predicate);
+        assertThat(TransactionSpecifications.matches(new TransactionFilter()).toPredicate(root, query, cb))
+                .isSameAs(predicate);
+
+        verifyNoInteractions(root);
+    }
+}
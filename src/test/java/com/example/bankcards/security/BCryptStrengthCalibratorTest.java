@@ -0,0 +1,67 @@
+package com.example.bankcards.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты для подбора стоимости BCrypt")
+class BCryptStrengthCalibratorTest {
+
+    // Время хэширования удваивается с каждой единицей стоимости: 10 - 40 мс, 11 - 80 мс, 12 - 160 мс
+    private static final IntToLongFunction DOUBLING = strength -> 40L << (strength - 10);
+
+    @DisplayName("calibrate Должен выбрать стоимость, время которой ближе всего к целевому")
+    @Test
+    void calibrate_ShouldChooseStrengthClosestToTarget() {
+        assertThat(calibrator(DOUBLING, 150).calibrate()).isEqualTo(12);
+        assertThat(calibrator(DOUBLING, 100).calibrate()).isEqualTo(11);
+    }
+
+    @DisplayName("calibrate Должен держаться в пределах минимальной и максимальной стоимости")
+    @Test
+    void calibrate_ShouldStayWithinBounds() {
+        assertThat(calibrator(DOUBLING, 1).calibrate()).isEqualTo(10);
+        assertThat(calibrator(DOUBLING, 1_000_000).calibrate()).isEqualTo(16);
+    }
+
+    @DisplayName("calibrate Должен брать медиану замеров, а не выброс")
+    @Test
+    void calibrate_ShouldUseMedianOfSamples() {
+        // Прогрев, затем по три замера на стоимость: единичная пауза на 10 не должна остановить подбор
+        Deque<Long> timings = new ArrayDeque<>(List.of(500L, 40L, 900L, 41L, 80L, 82L, 81L, 160L, 161L, 159L));
+        BCryptStrengthCalibrator calibrator = calibrator(strength -> timings.removeFirst(), 150);
+
+        assertThat(calibrator.calibrate()).isEqualTo(12);
+        assertThat(timings).isEmpty();
+    }
+
+    @DisplayName("calibrate Должен подобрать стоимость в пределах 10-16 на реальном хэшировании")
+    @Test
+    void calibrate_WithRealHashing_ShouldRespectTargetAndBounds() {
+        BCryptStrengthCalibrator calibrator = new BCryptStrengthCalibrator();
+        configure(calibrator, 1);
+
+        // Хэширование со стоимостью 10 дольше 1 мс, подбор останавливается на минимуме
+        assertThat(calibrator.calibrate()).isEqualTo(10);
+    }
+
+    private static BCryptStrengthCalibrator calibrator(IntToLongFunction hashTimer, long targetMillis) {
+        BCryptStrengthCalibrator calibrator = new BCryptStrengthCalibrator(hashTimer);
+        configure(calibrator, targetMillis);
+        return calibrator;
+    }
+
+    private static void configure(BCryptStrengthCalibrator calibrator, long targetMillis) {
+        ReflectionTestUtils.setField(calibrator, "targetMillis", targetMillis);
+        ReflectionTestUtils.setField(calibrator, "minStrength", 10);
+        ReflectionTestUtils.setField(calibrator, "maxStrength", 16);
+        ReflectionTestUtils.setField(calibrator, "samples", 3);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты для ограничения частоты входа")
+class LoginRateLimiterTest {
+    private static final String IP = "10.0.0.1";
+
+    private final AtomicLong clock = new AtomicLong();
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        loginRateLimiter = new LoginRateLimiter(clock::get);
+        ReflectionTestUtils.setField(loginRateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipCapacity", 100L);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipRefillPerMinute", 60L);
+        ReflectionTestUtils.setField(loginRateLimiter, "usernameCapacity", 2L);
+        ReflectionTestUtils.setField(loginRateLimiter, "usernameRefillPerMinute", 60L);
+        ReflectionTestUtils.setField(loginRateLimiter, "maxEntries", 100_000);
+    }
+
+    @DisplayName("checkSignIn Должен отказать после исчерпания лимита имени и пропустить после пополнения")
+    @Test
+    void checkSignIn_WhenUsernameLimitExhausted_ShouldThrowUntilRefill() {
+        loginRateLimiter.checkSignIn(IP, "alice");
+        loginRateLimiter.checkSignIn(IP, "alice");
+
+        assertThatThrownBy(() -> loginRateLimiter.checkSignIn(IP, "alice"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        advance(1);
+        assertThatCode(() -> loginRateLimiter.checkSignIn(IP, "alice")).doesNotThrowAnyException();
+    }
+
+    @DisplayName("checkSignIn Должен считать варианты регистра и пробелов одним именем")
+    @Test
+    void checkSignIn_ShouldNormalizeUsername() {
+        loginRateLimiter.checkSignIn(IP, " Alice ");
+        loginRateLimiter.checkSignIn(IP, "ALICE");
+
+        assertThatThrownBy(() -> loginRateLimiter.checkSignIn(IP, "alice"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @DisplayName("checkSignIn Должен считать лимит имени отдельно для каждого IP")
+    @Test
+    void checkSignIn_WhenUsernameLimitExhaustedFromOtherIp_ShouldAllow() {
+        loginRateLimiter.checkSignIn("10.0.0.2", "alice");
+        loginRateLimiter.checkSignIn("10.0.0.2", "alice");
+        assertThatThrownBy(() -> loginRateLimiter.checkSignIn("10.0.0.2", "alice"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        assertThatCode(() -> loginRateLimiter.checkSignIn(IP, "alice")).doesNotThrowAnyException();
+    }
+
+    @DisplayName("checkSignUp Должен отказать после исчерпания лимита IP")
+    @Test
+    void checkSignUp_WhenIpLimitExhausted_ShouldThrow() {
+        ReflectionTestUtils.setField(loginRateLimiter, "ipCapacity", 1L);
+        loginRateLimiter.checkSignUp(IP);
+
+        assertThatThrownBy(() -> loginRateLimiter.checkSignUp(IP)).isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginRateLimiter.checkSignUp("10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @DisplayName("checkSignIn Должен удалять восстановившиеся бакеты при переполнении не чаще интервала")
+    @Test
+    void checkSignIn_WhenMaxEntriesExceeded_ShouldSweepFullBucketsAtInterval() {
+        ReflectionTestUtils.setField(loginRateLimiter, "maxEntries", 2);
+        loginRateLimiter.checkSignIn(IP, "user1");
+        loginRateLimiter.checkSignIn(IP, "user2");
+        assertThat(loginRateLimiter.size()).isEqualTo(3);
+
+        // Бакеты восстановились и удаляются, остаются созданные этой попыткой
+        advance(5);
+        loginRateLimiter.checkSignIn(IP, "user3");
+        assertThat(loginRateLimiter.size()).isEqualTo(2);
+
+        loginRateLimiter.checkSignIn(IP, "user4");
+        loginRateLimiter.checkSignIn(IP, "user5");
+        advance(6);
+        // Бакеты восстановились, но с прошлой очистки не прошел интервал
+        loginRateLimiter.checkSignIn(IP, "user6");
+        assertThat(loginRateLimiter.size()).isEqualTo(5);
+
+        advance(5);
+        loginRateLimiter.checkSignIn(IP, "user7");
+        assertThat(loginRateLimiter.size()).isEqualTo(2);
+    }
+
+    @DisplayName("checkSignIn Должен пропускать все попытки, если ограничение выключено")
+    @Test
+    void checkSignIn_WhenDisabled_ShouldNotLimit() {
+        ReflectionTestUtils.setField(loginRateLimiter, "enabled", false);
+
+        for (int i = 0; i < 10; i++) {
+            loginRateLimiter.checkSignIn(IP, "alice");
+        }
+        assertThat(loginRateLimiter.size()).isZero();
+    }
+
+    private void advance(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bankcards.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты для token bucket")
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @DisplayName("tryConsume Должен отказать при пустом бакете и выдать токен после пополнения")
+    @Test
+    void tryConsume_WhenEmpty_ShouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+
+        assertThat(bucket.tryConsume(0)).isTrue();
+        assertThat(bucket.tryConsume(0)).isTrue();
+        assertThat(bucket.tryConsume(0)).isFalse();
+        assertThat(bucket.tryConsume(SECOND / 2)).isFalse();
+        assertThat(bucket.tryConsume(SECOND)).isTrue();
+    }
+
+    @DisplayName("tryConsume Должен пополнять бакет не выше емкости")
+    @Test
+    void tryConsume_AfterLongIdle_ShouldNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+        long later = TimeUnit.HOURS.toNanos(1);
+
+        assertThat(bucket.tryConsume(later)).isTrue();
+        assertThat(bucket.tryConsume(later)).isTrue();
+        assertThat(bucket.tryConsume(later)).isFalse();
+    }
+
+    @DisplayName("isFull Должен вернуть true, только когда бакет полностью восстановился")
+    @Test
+    void isFull_ShouldReflectRefill() {
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.isFull(SECOND / 2)).isFalse();
+        assertThat(bucket.isFull(SECOND)).isTrue();
+    }
+
+    @DisplayName("tryConsume Должен выдать ровно емкость токенов при параллельных попытках")
+    @Test
+    void tryConsume_WhenConcurrent_ShouldNotOverIssueTokens() throws InterruptedException {
+        int threads = 8;
+        int attemptsPerThread = 500;
+        TokenBucket bucket = new TokenBucket(1000, 0, 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                        if (bucket.tryConsume(0)) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(granted).hasValue(1000);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.InsufficientFundsException;
+import com.example.bankcards.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для сервиса асинхронных переводов")
+@ExtendWith(MockitoExtension.class)
+class AsyncTransferServiceImplTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private AsyncTransferServiceImpl asyncTransferService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(asyncTransferService, "poolSize", 1);
+        ReflectionTestUtils.setField(asyncTransferService, "queueCapacity", 1);
+        asyncTransferService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncTransferService.stop();
+    }
+
+    @DisplayName("submitTransfer Должен сохранить перевод и провести его в пуле")
+    @Test
+    void submitTransfer_ShouldProcessInPool() throws InterruptedException {
+        CountDownLatch processed = new CountDownLatch(1);
+        when(transactionService.createPendingTransfer(1L, 1L, 2L, BigDecimal.TEN, null))
+                .thenReturn(Transaction.builder().id(10L).build());
+        doAnswer(invocation -> {
+            processed.countDown();
+            return null;
+        }).when(transactionService).completePendingTransfer(10L);
+
+        Transaction result = asyncTransferService.submitTransfer(1L, 1L, 2L, BigDecimal.TEN, null);
+
+        assertThat(result.getId()).isEqualTo(10L);
+        assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @DisplayName("submitTransfer Должен отклонить перевод без сохранения, если очередь заполнена")
+    @Test
+    void submitTransfer_WhenQueueFull_ShouldRejectBeforeSaving() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.createPendingTransfer(anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(Transaction.builder().id(10L).build());
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(transactionService).completePendingTransfer(10L);
+
+        asyncTransferService.submitTransfer(1L, 1L, 2L, BigDecimal.TEN, null);
+        asyncTransferService.submitTransfer(1L, 1L, 2L, BigDecimal.TEN, null);
+
+        assertThatThrownBy(() -> asyncTransferService.submitTransfer(1L, 1L, 2L, BigDecimal.TEN, null))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(transactionService, times(2)).createPendingTransfer(anyLong(), anyLong(), anyLong(), any(), any());
+        release.countDown();
+    }
+
+    @DisplayName("submitTransfer Должен пометить перевод FAILED, если проведение не удалось")
+    @Test
+    void submitTransfer_WhenProcessingFails_ShouldMarkFailed() {
+        when(transactionService.createPendingTransfer(1L, 1L, 2L, BigDecimal.TEN, null))
+                .thenReturn(Transaction.builder().id(10L).build());
+        doThrow(new InsufficientFundsException("Недостаточно средств на карте отправителя"))
+                .when(transactionService).completePendingTransfer(10L);
+
+        asyncTransferService.submitTransfer(1L, 1L, 2L, BigDecimal.TEN, null);
+
+        verify(transactionService, timeout(5000)).failPendingTransfer(10L);
+    }
+}
@@ -11,7 +11,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,8 +24,6 @@ class AuthenticationServiceImplTest {
     @Mock
     private UserService userService;
     @Mock
-    private UserDetailsService userDetailsService;
-    @Mock
     private JwtService jwtService;
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -40,7 +37,7 @@ class AuthenticationServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        authenticationService = new AuthenticationServiceImpl(userService, userDetailsService, jwtService, passwordEncoder, authenticationManager);
+        authenticationService = new AuthenticationServiceImpl(userService, jwtService, passwordEncoder, authenticationManager);
 
         user = User.builder()
                 .id(1L)
@@ -77,14 +74,14 @@ class AuthenticationServiceImplTest {
         String password = "password";
         String expectedToken = "my.super.jwt.token";
 
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(authenticated());
         when(jwtService.generateToken(userDetails)).thenReturn(expectedToken);
 
         String result = authenticationService.signIn(username, password);
 
         assertThat(result).isEqualTo(expectedToken);
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userDetailsService, times(1)).loadUserByUsername(username);
         verify(jwtService, times(1)).generateToken(userDetails);
     }
 
@@ -95,7 +92,8 @@ class AuthenticationServiceImplTest {
         String password = "password";
         String expectedToken = "my.super.jwt.token";
 
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(authenticated());
         when(jwtService.generateToken(userDetails)).thenReturn(expectedToken);
 
         authenticationService.signIn(username, password);
@@ -108,4 +106,8 @@ class AuthenticationServiceImplTest {
                 )
         );
     }
+
+    private UsernamePasswordAuthenticationToken authenticated() {
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
\ No newline at end of file
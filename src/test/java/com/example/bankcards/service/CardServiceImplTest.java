@@ -4,6 +4,7 @@ import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.Transaction;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.OutboxEventType;
 import com.example.bankcards.exception.CardHasBalanceException;
 import com.example.bankcards.exception.CardHasTransactionsException;
 import com.example.bankcards.exception.CardNotFoundException;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
@@ -42,6 +44,14 @@ class CardServiceImplTest {
     private CardNumberUtil cardNumberUtil;
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private LedgerService ledgerService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private CardStreamService cardStreamService;
+    @Mock
+    private CardCacheEvictor cardCacheEvictor;
 
     private CardServiceImpl cardService;
 
@@ -51,7 +61,8 @@ class CardServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        cardService = new CardServiceImpl(cardRepository, userService, cardNumberUtil, transactionRepository);
+        cardService = new CardServiceImpl(cardRepository, userService, cardNumberUtil, transactionRepository,
+                ledgerService, outboxService, cardStreamService, cardCacheEvictor);
 
         user = User.builder()
                 .id(1L)
@@ -107,57 +118,50 @@ class CardServiceImplTest {
     @DisplayName("blockCard Должен успешно заблокировать карту")
     @Test
     void blockCard_ShouldBlockCardSuccessfully() {
+        when(cardRepository.updateStatus(1L, "BLOCKED")).thenReturn(1);
+        card.setStatus(CardStatus.BLOCKED);
         when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Card result = cardService.blockCard(1L);
 
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(CardStatus.BLOCKED);
-        verify(cardRepository, times(1)).findById(1L);
-        verify(cardRepository, times(1)).save(card);
+        // Карта читается после UPDATE статуса, save() не перезаписывает баланс
+        InOrder inOrder = inOrder(cardRepository, cardCacheEvictor);
+        inOrder.verify(cardRepository).updateStatus(1L, "BLOCKED");
+        inOrder.verify(cardCacheEvictor).evict(List.of(1L));
+        inOrder.verify(cardRepository).findById(1L);
+        verify(cardRepository, never()).save(any(Card.class));
+        verify(outboxService, times(1)).recordCardEvent(OutboxEventType.CARD_STATUS_CHANGED, card);
     }
 
     @DisplayName("blockCard Должен выбросить исключение при отсутствии карты")
     @Test
     void blockCard_WhenCardNotFound_ShouldThrowException() {
-        when(cardRepository.findById(1L)).thenReturn(Optional.empty());
+        when(cardRepository.updateStatus(1L, "BLOCKED")).thenReturn(0);
 
         assertThatThrownBy(() -> cardService.blockCard(1L))
                 .isInstanceOf(CardNotFoundException.class);
 
-        verify(cardRepository, times(1)).findById(1L);
-        verify(cardRepository, never()).save(any(Card.class));
+        verify(cardRepository, never()).findById(anyLong());
+        verifyNoInteractions(outboxService);
     }
 
     @DisplayName("updateCardStatusByAdmin Должен успешно обновить статус карты")
     @Test
     void updateCardStatusByAdmin_ShouldUpdateStatusSuccessfully() {
         CardStatus newStatus = CardStatus.EXPIRED;
+        when(cardRepository.updateStatus(1L, "EXPIRED")).thenReturn(1);
+        card.setStatus(newStatus);
         when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Card result = cardService.updateCardStatusByAdmin(1L, newStatus);
 
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(newStatus);
-        verify(cardRepository, times(1)).findById(1L);
-        verify(cardRepository, times(1)).save(card);
-    }
-
-    @DisplayName("updateCardBalance Должен успешно обновить баланс карты")
-    @Test
-    void updateCardBalance_ShouldUpdateBalanceSuccessfully() {
-        BigDecimal newBalance = new BigDecimal("100.50");
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        Card result = cardService.updateCardBalance(1L, newBalance);
-
-        assertThat(result).isNotNull();
-        assertThat(result.getBalance()).isEqualTo(newBalance);
-        verify(cardRepository, times(1)).findById(1L);
-        verify(cardRepository, times(1)).save(card);
+        verify(cardRepository, times(1)).updateStatus(1L, "EXPIRED");
+        verify(cardCacheEvictor, times(1)).evict(List.of(1L));
+        verify(cardRepository, never()).save(any(Card.class));
     }
 
     @DisplayName("getCardByIdAndOwner Должен успешно вернуть карту по ID и владельцу")
@@ -269,6 +273,47 @@ class CardServiceImplTest {
         verify(transactionRepository, never()).findByCardId(anyLong(), any(Pageable.class));
     }
 
+    @DisplayName("updateBalanceStriping Должен выключить полосы и сразу свернуть их в основной баланс")
+    @Test
+    void updateBalanceStriping_WhenDisabled_ShouldFoldStripes() {
+        when(cardRepository.lockInIdOrder(List.of(1L))).thenReturn(List.of(1L));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+
+        Card result = cardService.updateBalanceStriping(1L, false);
+
+        assertThat(result).isSameAs(card);
+        InOrder inOrder = inOrder(cardRepository, cardCacheEvictor, ledgerService);
+        inOrder.verify(cardRepository).lockInIdOrder(List.of(1L));
+        inOrder.verify(cardRepository).updateBalanceStriped(1L, false);
+        inOrder.verify(cardCacheEvictor).evict(List.of(1L));
+        inOrder.verify(ledgerService).foldStripes(1L);
+        inOrder.verify(cardRepository).findById(1L);
+        verify(cardRepository, never()).save(any(Card.class));
+    }
+
+    @DisplayName("updateBalanceStriping Должен включить полосы без свертки")
+    @Test
+    void updateBalanceStriping_WhenEnabled_ShouldNotFold() {
+        when(cardRepository.lockInIdOrder(List.of(1L))).thenReturn(List.of(1L));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+
+        cardService.updateBalanceStriping(1L, true);
+
+        verify(cardRepository, times(1)).updateBalanceStriped(1L, true);
+        verify(ledgerService, never()).foldStripes(anyLong());
+    }
+
+    @DisplayName("updateBalanceStriping Должен выбросить исключение при отсутствии карты")
+    @Test
+    void updateBalanceStriping_WhenCardNotFound_ShouldThrowException() {
+        when(cardRepository.lockInIdOrder(List.of(1L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> cardService.updateBalanceStriping(1L, false))
+                .isInstanceOf(CardNotFoundException.class);
+
+        verify(cardRepository, never()).updateBalanceStriped(anyLong(), anyBoolean());
+    }
+
     @DisplayName("deleteCard Должен выбросить исключение при наличии транзакций")
     @Test
     void deleteCard_WhenCardHasTransactions_ShouldThrowException() {
@@ -0,0 +1,115 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.entity.CardMonthlyStats;
+import com.example.bankcards.entity.enums.TransactionStatus;
+import com.example.bankcards.exception.CardNotFoundException;
+import com.example.bankcards.repository.CardMonthlyStatsRepository;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для сервиса месячных итогов по картам")
+@ExtendWith(MockitoExtension.class)
+class CardStatsServiceImplTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FEBRUARY = LocalDate.of(2025, 2, 1);
+
+    @Mock
+    private CardMonthlyStatsRepository cardMonthlyStatsRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @InjectMocks
+    private CardStatsServiceImpl cardStatsService;
+
+    @DisplayName("recordTransfers Должен записать итоги пачки одним UPSERT на карту и месяц в порядке id карты")
+    @Test
+    void recordTransfers_ShouldAggregatePerCardAndMonth() {
+        cardStatsService.recordTransfers(List.of(
+                transfer(2L, 1L, "100.00", LocalDateTime.of(2025, 1, 31, 23, 59)),
+                transfer(2L, 1L, "30.00", LocalDateTime.of(2025, 1, 5, 10, 0)),
+                transfer(1L, 2L, "5.00", LocalDateTime.of(2025, 2, 1, 0, 0))));
+
+        InOrder inOrder = inOrder(cardMonthlyStatsRepository);
+        inOrder.verify(cardMonthlyStatsRepository).addTransfers(1L, JANUARY, new BigDecimal("130.00"),
+                BigDecimal.ZERO, 2, new BigDecimal("30.00"), new BigDecimal("100.00"));
+        inOrder.verify(cardMonthlyStatsRepository).addTransfers(1L, FEBRUARY, BigDecimal.ZERO,
+                new BigDecimal("5.00"), 1, new BigDecimal("5.00"), new BigDecimal("5.00"));
+        inOrder.verify(cardMonthlyStatsRepository).addTransfers(2L, JANUARY, BigDecimal.ZERO,
+                new BigDecimal("130.00"), 2, new BigDecimal("30.00"), new BigDecimal("100.00"));
+        inOrder.verify(cardMonthlyStatsRepository).addTransfers(2L, FEBRUARY, new BigDecimal("5.00"),
+                BigDecimal.ZERO, 1, new BigDecimal("5.00"), new BigDecimal("5.00"));
+        verifyNoMoreInteractions(cardMonthlyStatsRepository);
+    }
+
+    @DisplayName("getMonthlyStats Должен вернуть сохраненные итоги с балансом по журналу на начало следующего месяца")
+    @Test
+    void getMonthlyStats_ShouldReturnStoredStatsWithClosingBalance() {
+        CardMonthlyStats stats = CardMonthlyStats.builder().cardId(1L).month(JANUARY).transactionCount(3).build();
+        when(cardMonthlyStatsRepository.findById(new CardMonthlyStats.Key(1L, JANUARY))).thenReturn(Optional.of(stats));
+        when(cardRepository.existsById(1L)).thenReturn(true);
+        when(ledgerEntryRepository.sumByCardIdBefore(1L, FEBRUARY.atStartOfDay())).thenReturn(new BigDecimal("1150.00"));
+
+        CardMonthlyStats result = cardStatsService.getMonthlyStats(1L, YearMonth.of(2025, 1));
+
+        assertThat(result).isSameAs(stats);
+        assertThat(result.getClosingBalance()).isEqualByComparingTo("1150.00");
+    }
+
+    @DisplayName("getMonthlyStats Должен вернуть нулевые итоги, если переводов в месяце не было")
+    @Test
+    void getMonthlyStats_WhenNoTransfers_ShouldReturnZeros() {
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        when(cardMonthlyStatsRepository.findById(new CardMonthlyStats.Key(1L, march))).thenReturn(Optional.empty());
+        when(cardRepository.existsById(1L)).thenReturn(true);
+        when(ledgerEntryRepository.sumByCardIdBefore(1L, LocalDateTime.of(2025, 4, 1, 0, 0)))
+                .thenReturn(new BigDecimal("250.00"));
+
+        CardMonthlyStats result = cardStatsService.getMonthlyStats(1L, YearMonth.of(2025, 3));
+
+        assertThat(result.getMonth()).isEqualTo(march);
+        assertThat(result.getIncoming()).isZero();
+        assertThat(result.getOutgoing()).isZero();
+        assertThat(result.getTransactionCount()).isZero();
+        assertThat(result.getClosingBalance()).isEqualByComparingTo("250.00");
+    }
+
+    @DisplayName("getMonthlyStats Должен выбросить исключение, если карта не найдена")
+    @Test
+    void getMonthlyStats_WhenCardNotFound_ShouldThrowException() {
+        when(cardMonthlyStatsRepository.findById(new CardMonthlyStats.Key(1L, JANUARY))).thenReturn(Optional.empty());
+        when(cardRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> cardStatsService.getMonthlyStats(1L, YearMonth.of(2025, 1)))
+                .isInstanceOf(CardNotFoundException.class);
+        verifyNoInteractions(ledgerEntryRepository);
+    }
+
+    private static TransactionResponse transfer(Long fromCardId, Long toCardId, String amount, LocalDateTime date) {
+        return new TransactionResponse(null, fromCardId, toCardId, new BigDecimal(amount), date,
+                TransactionStatus.COMPLETED, null);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для потока карт")
+@ExtendWith(MockitoExtension.class)
+class CardStreamServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private ExecutorService sender;
+
+    private final Semaphore snapshotReads = new Semaphore(2);
+
+    private CardStreamServiceImpl cardStreamService;
+
+    @BeforeEach
+    void setUp() {
+        cardStreamService = new CardStreamServiceImpl(cardRepository);
+        ReflectionTestUtils.setField(cardStreamService, "bufferSize", 2);
+        ReflectionTestUtils.setField(cardStreamService, "timeoutMillis", 60_000L);
+        ReflectionTestUtils.setField(cardStreamService, "snapshotReads", snapshotReads);
+        // Отправка не выполняется, события копятся в очереди соединения как у медленного клиента
+        ReflectionTestUtils.setField(cardStreamService, "sender", sender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("publishAfterCommit Должен не обращаться к БД без подписчиков")
+    @Test
+    void publishAfterCommit_WhenNoSubscribers_ShouldSkip() {
+        cardStreamService.publishAfterCommit(1L, List.of(10L));
+
+        verifyNoInteractions(cardRepository);
+    }
+
+    @DisplayName("subscribe Должен поставить в очередь текущее состояние карт пользователя")
+    @Test
+    void subscribe_ShouldQueueSnapshot() {
+        when(cardRepository.findBalancesByOwnerId(1L)).thenReturn(List.of(view(10L, "100.00", "ACTIVE")));
+
+        assertThat(cardStreamService.subscribe(1L)).isNotNull();
+
+        verify(sender).execute(any());
+    }
+
+    @DisplayName("publishAfterCommit Должен прочитать и отправить состояние карт только после коммита")
+    @Test
+    void publishAfterCommit_InTransaction_ShouldReadAfterCommit() {
+        when(cardRepository.findBalancesByOwnerId(1L)).thenReturn(List.of());
+        when(cardRepository.findBalancesByIdIn(List.of(10L, 11L)))
+                .thenReturn(List.of(view(10L, "90.00", "ACTIVE"), view(11L, "10.00", "ACTIVE")));
+        cardStreamService.subscribe(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cardStreamService.publishAfterCommit(1L, List.of(10L, 11L));
+
+        verify(cardRepository, never()).findBalancesByIdIn(anyCollection());
+        verify(sender, never()).execute(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+        runLastTask();
+
+        verify(cardRepository).findBalancesByIdIn(List.of(10L, 11L));
+        // Чтение после коммита и отправка в соединение
+        verify(sender, times(2)).execute(any());
+    }
+
+    @DisplayName("publishAfterCommit Должен отключить клиента, который не успевает читать")
+    @Test
+    void publishAfterCommit_WhenBufferFull_ShouldDropConnection() {
+        when(cardRepository.findBalancesByOwnerId(1L)).thenReturn(List.of(view(10L, "100.00", "ACTIVE")));
+        when(cardRepository.findBalancesByIdIn(List.of(10L, 11L)))
+                .thenReturn(List.of(view(10L, "90.00", "ACTIVE"), view(11L, "10.00", "ACTIVE")));
+        cardStreamService.subscribe(1L);
+
+        cardStreamService.publishAfterCommit(1L, List.of(10L, 11L));
+        runLastTask();
+        cardStreamService.publishAfterCommit(1L, List.of(10L, 11L));
+
+        // Второе событие не влезло в очередь, подписчиков больше нет и БД не читается
+        verify(cardRepository, times(1)).findBalancesByIdIn(anyCollection());
+    }
+
+    @DisplayName("publishAfterCommit Должен читать состояние карт, заняв разрешение на чтение, и вернуть его")
+    @Test
+    void publishAfterCommit_ShouldHoldReadPermitDuringRead() {
+        when(cardRepository.findBalancesByOwnerId(1L)).thenReturn(List.of());
+        cardStreamService.subscribe(1L);
+        List<Integer> permitsDuringRead = new ArrayList<>();
+        when(cardRepository.findBalancesByIdIn(List.of(10L))).thenAnswer(invocation -> {
+            permitsDuringRead.add(snapshotReads.availablePermits());
+            return List.of(view(10L, "90.00", "ACTIVE"));
+        });
+
+        cardStreamService.publishAfterCommit(1L, List.of(10L));
+        runLastTask();
+
+        assertThat(permitsDuringRead).containsExactly(1);
+        assertThat(snapshotReads.availablePermits()).isEqualTo(2);
+    }
+
+    private void runLastTask() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(sender, atLeastOnce()).execute(task.capture());
+        task.getValue().run();
+    }
+
+    private static CardRepository.CardBalanceView view(Long id, String balance, String status) {
+        return new CardRepository.CardBalanceView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return new BigDecimal(balance);
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.IdempotencyKey;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.IdempotencyKeyReusedException;
+import com.example.bankcards.repository.IdempotencyKeyRepository;
+import com.example.bankcards.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для сервиса идемпотентности переводов")
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+    private static final String REQUEST = "2|3|10|";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private Supplier<Transaction> transfer;
+
+    @InjectMocks
+    private IdempotencyServiceImpl idempotencyService;
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "cacheSize", 100);
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        transaction = Transaction.builder().id(10L).build();
+    }
+
+    @DisplayName("execute Должен выполнить перевод без ключа, не трогая таблицу ключей")
+    @Test
+    void execute_WithoutKey_ShouldRunTransfer() {
+        when(transfer.get()).thenReturn(transaction);
+
+        assertThat(idempotencyService.execute(1L, null, REQUEST, transfer)).isSameAs(transaction);
+
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @DisplayName("execute Должен захватить новый ключ, выполнить перевод и привязать к ключу транзакцию")
+    @Test
+    void execute_WithNewKey_ShouldRunTransferAndBind() {
+        when(idempotencyKeyRepository.claim(eq(1L), eq("key-1"), anyString(), any())).thenReturn(1);
+        when(transfer.get()).thenReturn(transaction);
+
+        assertThat(idempotencyService.execute(1L, "key-1", REQUEST, transfer)).isSameAs(transaction);
+
+        verify(idempotencyKeyRepository, times(1)).bindTransaction(1L, "key-1", 10L);
+    }
+
+    @DisplayName("execute Должен вернуть исходную транзакцию для повторного ключа без перевода")
+    @Test
+    void execute_WithExistingKey_ShouldReturnOriginal() {
+        when(idempotencyKeyRepository.claim(eq(1L), eq("key-1"), anyString(), any())).thenReturn(0);
+        stubExistingKey(REQUEST);
+        when(transactionRepository.findById(10L)).thenReturn(Optional.of(transaction));
+
+        assertThat(idempotencyService.execute(1L, "key-1", REQUEST, transfer)).isSameAs(transaction);
+
+        verify(transfer, never()).get();
+    }
+
+    @DisplayName("execute Должен отвечать на недавний ключ из памяти, без захвата ключа в БД")
+    @Test
+    void execute_WithRecentKey_ShouldSkipClaim() {
+        when(idempotencyKeyRepository.claim(eq(1L), eq("key-1"), anyString(), any())).thenReturn(1);
+        when(transfer.get()).thenReturn(transaction);
+        when(transactionRepository.findById(10L)).thenReturn(Optional.of(transaction));
+        idempotencyService.execute(1L, "key-1", REQUEST, transfer);
+
+        assertThat(idempotencyService.execute(1L, "key-1", REQUEST, transfer)).isSameAs(transaction);
+
+        verify(idempotencyKeyRepository, times(1)).claim(anyLong(), anyString(), anyString(), any());
+        verify(transfer, times(1)).get();
+    }
+
+    @DisplayName("execute Должен отклонить ключ, уже использованный с другим запросом")
+    @Test
+    void execute_WithExistingKeyAndOtherRequest_ShouldThrowException() {
+        when(idempotencyKeyRepository.claim(eq(1L), eq("key-1"), anyString(), any())).thenReturn(0);
+        stubExistingKey("2|3|500|");
+
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-1", REQUEST, transfer))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+
+        verify(transfer, never()).get();
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @DisplayName("execute Должен отклонить недавний ключ из памяти, если запрос другой")
+    @Test
+    void execute_WithRecentKeyAndOtherRequest_ShouldThrowException() {
+        when(idempotencyKeyRepository.claim(eq(1L), eq("key-1"), anyString(), any())).thenReturn(1);
+        when(transfer.get()).thenReturn(transaction);
+        idempotencyService.execute(1L, "key-1", REQUEST, transfer);
+
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-1", "2|3|500|", transfer))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+
+        verify(transfer, times(1)).get();
+    }
+
+    @DisplayName("purgeExpired Должен удалить устаревшие ключи и из памяти")
+    @Test
+    void purgeExpired_ShouldEvictExpiredRecentKeys() {
+        when(idempotencyKeyRepository.claim(eq(1L), eq("key-1"), anyString(), any())).thenReturn(1);
+        when(transfer.get()).thenReturn(transaction);
+        idempotencyService.execute(1L, "key-1", REQUEST, transfer);
+        // Граница в будущем: устаревшими считаются все ключи
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", -1L);
+        idempotencyService.purgeExpired();
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+
+        idempotencyService.execute(1L, "key-1", REQUEST, transfer);
+
+        verify(idempotencyKeyRepository).deleteCreatedBefore(any());
+        verify(idempotencyKeyRepository, times(2)).claim(anyLong(), anyString(), anyString(), any());
+        verify(transfer, times(2)).get();
+    }
+
+    @DisplayName("execute Должен не отвечать из памяти по ключу старше срока хранения")
+    @Test
+    void execute_WithExpiredRecentKey_ShouldClaimAgain() {
+        when(idempotencyKeyRepository.claim(eq(1L), eq("key-1"), anyString(), any())).thenReturn(1);
+        when(transfer.get()).thenReturn(transaction);
+        idempotencyService.execute(1L, "key-1", REQUEST, transfer);
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", -1L);
+
+        idempotencyService.execute(1L, "key-1", REQUEST, transfer);
+
+        verify(idempotencyKeyRepository, times(2)).claim(anyLong(), anyString(), anyString(), any());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @DisplayName("execute Должен выбросить исключение для слишком длинного ключа")
+    @Test
+    void execute_WithTooLongKey_ShouldThrowException() {
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "k".repeat(65), REQUEST, transfer))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(transfer, never()).get();
+    }
+
+    private void stubExistingKey(String request) {
+        IdempotencyKey existing = IdempotencyKey.builder()
+                .userId(1L)
+                .idempotencyKey("key-1")
+                .requestHash(sha256(request))
+                .transactionId(10L)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.of(existing));
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.exception.InsufficientFundsException;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для сервиса журнала проводок")
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Mock
+    private CardCacheEvictor cardCacheEvictor;
+
+    @InjectMocks
+    private LedgerServiceImpl ledgerService;
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ledgerService, "stripeCount", 8);
+        transaction = Transaction.builder()
+                .id(10L)
+                .fromCard(Card.builder().id(1L).build())
+                .toCard(Card.builder().id(2L).build())
+                .amount(new BigDecimal("100.00"))
+                .transactionDate(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+    }
+
+    @DisplayName("recordTransfer Должен обновить балансы и записать списание и зачисление")
+    @Test
+    void recordTransfer_ShouldApplyBalancesAndInsertEntries() {
+        when(cardRepository.applyTransfer(1L, 2L, new BigDecimal("100.00"))).thenReturn(2);
+
+        ledgerService.recordTransfer(transaction);
+
+        verify(ledgerEntryRepository, times(1)).insertTransferEntries(10L, 1L, 2L,
+                new BigDecimal("100.00"), LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+
+    @DisplayName("recordTransfer Должен вытеснить из кэша только карты перевода")
+    @Test
+    void recordTransfer_ShouldEvictTransferCards() {
+        when(cardRepository.applyTransfer(1L, 2L, new BigDecimal("100.00"))).thenReturn(2);
+
+        ledgerService.recordTransfer(transaction);
+
+        verify(cardCacheEvictor).evict(List.of(1L, 2L));
+    }
+
+    @DisplayName("recordTransfer Должен выбросить исключение, если списание не прошло")
+    @Test
+    void recordTransfer_WhenDebitRejected_ShouldThrowException() {
+        when(cardRepository.applyTransfer(1L, 2L, new BigDecimal("100.00"))).thenReturn(1);
+
+        assertThatThrownBy(() -> ledgerService.recordTransfer(transaction))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        verify(ledgerEntryRepository, never()).insertTransferEntries(anyLong(), anyLong(), anyLong(), any(), any());
+    }
+
+    @DisplayName("recordTransfer Должен зачислить на карту с полосами в полосу, не трогая строку карты")
+    @Test
+    void recordTransfer_WhenTargetStriped_ShouldCreditStripe() {
+        transaction.getToCard().setBalanceStriped(true);
+        when(cardRepository.debit(1L, new BigDecimal("100.00"))).thenReturn(1);
+
+        ledgerService.recordTransfer(transaction);
+
+        verify(cardRepository, times(1)).creditStripe(eq(2L), anyInt(), eq(new BigDecimal("100.00")));
+        verify(cardRepository, never()).applyTransfer(anyLong(), anyLong(), any());
+        verify(cardRepository, never()).updateBalance(anyLong(), any());
+        verify(ledgerEntryRepository, times(1)).insertTransferEntries(10L, 1L, 2L,
+                new BigDecimal("100.00"), LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+
+    @DisplayName("recordTransfer Должен свернуть полосы и повторить списание, если основного баланса не хватило")
+    @Test
+    void recordTransfer_WhenSourceStripedAndBalanceShort_ShouldFoldAndRetry() {
+        transaction.getFromCard().setBalanceStriped(true);
+        when(cardRepository.debit(1L, new BigDecimal("100.00"))).thenReturn(0, 1);
+
+        ledgerService.recordTransfer(transaction);
+
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).lockInIdOrder(List.of(1L, 2L));
+        inOrder.verify(cardRepository).foldStripes(1L);
+        verify(cardRepository, times(2)).debit(1L, new BigDecimal("100.00"));
+        verify(cardRepository, times(1)).updateBalance(2L, new BigDecimal("100.00"));
+    }
+
+    @DisplayName("recordTransfer Должен выбросить исключение, если и после свертки полос средств не хватает")
+    @Test
+    void recordTransfer_WhenSourceStripedAndFundsShort_ShouldThrowException() {
+        transaction.getFromCard().setBalanceStriped(true);
+        when(cardRepository.debit(1L, new BigDecimal("100.00"))).thenReturn(0);
+
+        assertThatThrownBy(() -> ledgerService.recordTransfer(transaction))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        verify(cardRepository, never()).creditStripe(anyLong(), anyInt(), any());
+        verify(ledgerEntryRepository, never()).insertTransferEntries(anyLong(), anyLong(), anyLong(), any(), any());
+    }
+
+    @DisplayName("recordTransfer Должен отказать без свертки, если у карты списания нет полос")
+    @Test
+    void recordTransfer_WhenSourceNotStripedAndBalanceShort_ShouldNotFold() {
+        transaction.getToCard().setBalanceStriped(true);
+        when(cardRepository.debit(1L, new BigDecimal("100.00"))).thenReturn(0);
+
+        assertThatThrownBy(() -> ledgerService.recordTransfer(transaction))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        verify(cardRepository, never()).lockInIdOrder(any());
+        verify(cardRepository, never()).foldStripes(anyLong());
+    }
+
+    @DisplayName("foldStripes Должен заблокировать строку карты до свертки полос")
+    @Test
+    void foldStripes_ShouldLockCardBeforeFolding() {
+        ledgerService.foldStripes(1L);
+
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).lockInIdOrder(List.of(1L));
+        inOrder.verify(cardRepository).foldStripes(1L);
+        verify(cardCacheEvictor).evict(List.of(1L));
+    }
+
+    @DisplayName("getLedgerBalance Должен вернуть сумму проводок карты")
+    @Test
+    void getLedgerBalance_ShouldReturnSum() {
+        when(ledgerEntryRepository.sumByCardId(1L)).thenReturn(new BigDecimal("900.00"));
+
+        assertThat(ledgerService.getLedgerBalance(1L)).isEqualByComparingTo("900.00");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.TransactionResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.OutboxEvent;
+import com.example.bankcards.entity.Transaction;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.OutboxEventType;
+import com.example.bankcards.event.EventSink;
+import com.example.bankcards.mapper.CardMapper;
+import com.example.bankcards.mapper.TransactionMapper;
+import com.example.bankcards.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для сервиса outbox")
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private EventSink sink;
+    @Mock
+    private CardMapper cardMapper;
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxServiceImpl(outboxEventRepository, List.of(sink), cardMapper, transactionMapper,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @DisplayName("recordTransferCompleted Должен записать событие с телом ответа API и владельцем карт")
+    @Test
+    void recordTransferCompleted_ShouldSaveEvent() {
+        User owner = User.builder().id(7L).build();
+        Transaction transaction = Transaction.builder()
+                .id(10L)
+                .fromCard(Card.builder().id(1L).owner(owner).build())
+                .toCard(Card.builder().id(2L).owner(owner).build())
+                .build();
+        when(transactionMapper.toResponse(transaction)).thenReturn(
+                new TransactionResponse(10L, 1L, 2L, new BigDecimal("5.00"), null, null, null));
+
+        outboxService.recordTransferCompleted(transaction);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        assertThat(captor.getValue().getEventType()).isEqualTo(OutboxEventType.TRANSFER_COMPLETED);
+        assertThat(captor.getValue().getAggregateId()).isEqualTo(10L);
+        assertThat(captor.getValue().getUserId()).isEqualTo(7L);
+        assertThat(captor.getValue().getPayload()).contains("\"fromCardId\":1", "\"amount\":5.00");
+    }
+
+    @DisplayName("relayBatch Должен опубликовать пачку и удалить опубликованные события")
+    @Test
+    void relayBatch_ShouldPublishAndDelete() {
+        List<OutboxEvent> events = List.of(event(1L), event(2L));
+        when(outboxEventRepository.lockBatch(100)).thenReturn(events);
+
+        assertThat(outboxService.relayBatch(100)).isEqualTo(2);
+
+        verify(sink, times(1)).publish(events);
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @DisplayName("relayBatch Должен оставить события в outbox, если получатель упал")
+    @Test
+    void relayBatch_WhenSinkFails_ShouldNotDelete() {
+        when(outboxEventRepository.lockBatch(100)).thenReturn(List.of(event(1L)));
+        doThrow(new IllegalStateException("sink down")).when(sink).publish(anyList());
+
+        assertThatThrownBy(() -> outboxService.relayBatch(100)).isInstanceOf(IllegalStateException.class);
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private static OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(OutboxEventType.CARD_CREATED)
+                .aggregateId(id)
+                .userId(1L)
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
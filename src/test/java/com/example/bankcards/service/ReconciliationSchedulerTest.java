@@ -0,0 +1,54 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.exception.ReconciliationInProgressException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для запуска сверки по расписанию")
+@ExtendWith(MockitoExtension.class)
+class ReconciliationSchedulerTest {
+
+    @Mock
+    private ReconciliationService reconciliationService;
+
+    @InjectMocks
+    private ReconciliationScheduler reconciliationScheduler;
+
+    @DisplayName("reconcile Должен запустить сверку от имени админа и очистить контекст безопасности")
+    @Test
+    void reconcile_ShouldRunAsAdminAndClearContext() {
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        when(reconciliationService.reconcile()).thenAnswer(invocation -> {
+            authentication.set(SecurityContextHolder.getContext().getAuthentication());
+            return null;
+        });
+
+        reconciliationScheduler.reconcile();
+
+        assertThat(authentication.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @DisplayName("reconcile Должен пропустить запуск, если сверка уже выполняется")
+    @Test
+    void reconcile_WhenInProgress_ShouldSkip() {
+        when(reconciliationService.reconcile()).thenThrow(new ReconciliationInProgressException("busy"));
+
+        assertThatCode(() -> reconciliationScheduler.reconcile()).doesNotThrowAnyException();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
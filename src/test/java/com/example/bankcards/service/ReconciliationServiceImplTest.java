@@ -0,0 +1,104 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.ReconciliationRun;
+import com.example.bankcards.exception.ReconciliationInProgressException;
+import com.example.bankcards.exception.ReconciliationRunNotFoundException;
+import com.example.bankcards.repository.BalanceMismatchRepository;
+import com.example.bankcards.repository.BalanceSnapshotRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import com.example.bankcards.repository.ReconciliationRunRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для сервиса сверки балансов")
+@ExtendWith(MockitoExtension.class)
+class ReconciliationServiceImplTest {
+
+    @Mock
+    private ReconciliationRunRepository reconciliationRunRepository;
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Mock
+    private BalanceMismatchRepository balanceMismatchRepository;
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @InjectMocks
+    private ReconciliationServiceImpl reconciliationService;
+
+    @DisplayName("reconcile Должен переиграть только проводки после прошлой контрольной точки")
+    @Test
+    void reconcile_ShouldReplayEntriesSincePreviousCheckpoint() {
+        ReconciliationRun previous = ReconciliationRun.builder().id(1L).checkpointEntryId(100L).build();
+        when(reconciliationRunRepository.tryLock(anyLong())).thenReturn(true);
+        when(reconciliationRunRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(previous));
+        when(ledgerEntryRepository.findSettledCheckpoint(eq(100L), any())).thenReturn(150L);
+        when(reconciliationRunRepository.save(any(ReconciliationRun.class))).thenAnswer(invocation -> {
+            ReconciliationRun run = invocation.getArgument(0);
+            run.setId(2L);
+            return run;
+        });
+        when(balanceMismatchRepository.insertMismatches(2L, 100L)).thenReturn(1);
+        when(balanceSnapshotRepository.advance(100L, 150L)).thenReturn(7);
+
+        ReconciliationRun result = reconciliationService.reconcile();
+
+        assertThat(result.getFromEntryId()).isEqualTo(100L);
+        assertThat(result.getCheckpointEntryId()).isEqualTo(150L);
+        assertThat(result.getMismatches()).isEqualTo(1);
+        assertThat(result.getSnapshotsUpdated()).isEqualTo(7);
+        assertThat(result.getFinishedAt()).isNotNull();
+    }
+
+    @DisplayName("reconcile Должен начать с нулевой точки при первом запуске")
+    @Test
+    void reconcile_WhenFirstRun_ShouldStartFromZero() {
+        when(reconciliationRunRepository.tryLock(anyLong())).thenReturn(true);
+        when(reconciliationRunRepository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+        when(ledgerEntryRepository.findSettledCheckpoint(eq(0L), any())).thenReturn(0L);
+        when(reconciliationRunRepository.save(any(ReconciliationRun.class))).thenAnswer(invocation -> {
+            ReconciliationRun run = invocation.getArgument(0);
+            run.setId(1L);
+            return run;
+        });
+
+        reconciliationService.reconcile();
+
+        verify(balanceMismatchRepository, times(1)).insertMismatches(1L, 0L);
+        verify(balanceSnapshotRepository, times(1)).advance(0L, 0L);
+    }
+
+    @DisplayName("reconcile Должен выбросить исключение, если сверка уже выполняется")
+    @Test
+    void reconcile_WhenLocked_ShouldThrowException() {
+        when(reconciliationRunRepository.tryLock(anyLong())).thenReturn(false);
+
+        assertThatThrownBy(() -> reconciliationService.reconcile())
+                .isInstanceOf(ReconciliationInProgressException.class);
+
+        verify(balanceSnapshotRepository, never()).advance(anyLong(), anyLong());
+    }
+
+    @DisplayName("getMismatches Должен выбросить исключение, если запуск не найден")
+    @Test
+    void getMismatches_WhenRunNotFound_ShouldThrowException() {
+        when(reconciliationRunRepository.existsById(5L)).thenReturn(false);
+
+        assertThatThrownBy(() -> reconciliationService.getMismatches(5L, PageRequest.of(0, 10)))
+                .isInstanceOf(ReconciliationRunNotFoundException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.bankcards.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Тесты для обслуживания секций transactions")
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionMaintenanceTest {
+
+    @Mock
+    private TransactionPartitionService transactionPartitionService;
+
+    @InjectMocks
+    private TransactionPartitionMaintenance maintenance;
+
+    private final LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(maintenance, "monthsAhead", 3);
+        ReflectionTestUtils.setField(maintenance, "archiveAfterMonths", 0);
+    }
+
+    @DisplayName("maintain Должен создать секции на текущий и следующие months-ahead месяцев")
+    @Test
+    void maintain_ShouldCreatePartitionsAhead() {
+        maintenance.maintain();
+
+        for (int i = 0; i <= 3; i++) {
+            verify(transactionPartitionService, times(1)).createPartition(currentMonth.plusMonths(i));
+        }
+        verify(transactionPartitionService, times(4)).createPartition(any());
+    }
+
+    @DisplayName("maintain Должен продолжить со следующего месяца, если секцию создать не удалось")
+    @Test
+    void maintain_WhenPartitionFails_ShouldContinueWithNextMonths() {
+        when(transactionPartitionService.createPartition(any())).thenReturn(true);
+        // Например, строки этого месяца уже лежат в transactions_default
+        doThrow(new DataIntegrityViolationException("updated partition constraint for default partition"))
+                .when(transactionPartitionService).createPartition(currentMonth.plusMonths(1));
+
+        maintenance.maintain();
+
+        verify(transactionPartitionService, times(1)).createPartition(currentMonth.plusMonths(2));
+        verify(transactionPartitionService, times(1)).createPartition(currentMonth.plusMonths(3));
+    }
+
+    @DisplayName("maintain Не должен архивировать секции, если archive-after-months равен 0")
+    @Test
+    void maintain_WhenArchiveDisabled_ShouldNotArchive() {
+        maintenance.maintain();
+
+        verify(transactionPartitionService, never()).archivePartitionsBefore(any());
+    }
+
+    @DisplayName("maintain Должен архивировать секции старше archive-after-months месяцев")
+    @Test
+    void maintain_WhenArchiveEnabled_ShouldArchiveOlderPartitions() {
+        ReflectionTestUtils.setField(maintenance, "archiveAfterMonths", 12);
+
+        maintenance.maintain();
+
+        verify(transactionPartitionService, times(1)).archivePartitionsBefore(currentMonth.minusMonths(12));
+    }
+}
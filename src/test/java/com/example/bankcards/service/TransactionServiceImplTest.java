@@ -1,5 +1,6 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.request.TransactionFilter;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.Transaction;
 import com.example.bankcards.entity.User;
@@ -11,21 +12,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @DisplayName("Тесты для сервиса транзакций")
@@ -36,6 +40,12 @@ class TransactionServiceImplTest {
     private TransactionRepository transactionRepository;
     @Mock
     private CardService cardService;
+    @Mock
+    private LedgerService ledgerService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private CardStreamService cardStreamService;
 
     private TransactionServiceImpl transactionService;
 
@@ -44,10 +54,12 @@ class TransactionServiceImplTest {
     private Card toCard;
     private Transaction transaction;
     private Pageable pageable;
+    private final TransactionFilter filter = TransactionFilter.builder().status(TransactionStatus.COMPLETED).build();
 
     @BeforeEach
     void setUp() {
-        transactionService = new TransactionServiceImpl(transactionRepository, cardService);
+        transactionService = new TransactionServiceImpl(transactionRepository, cardService, ledgerService,
+                outboxService, cardStreamService);
 
         user = User.builder()
                 .id(1L)
@@ -92,8 +104,6 @@ class TransactionServiceImplTest {
 
         when(cardService.getCardByIdAndOwner(1L, 1L)).thenReturn(fromCard);
         when(cardService.getCardByIdAndOwner(2L, 1L)).thenReturn(toCard);
-        when(cardService.updateCardBalance(1L, new BigDecimal("900.00"))).thenReturn(fromCard);
-        when(cardService.updateCardBalance(2L, new BigDecimal("600.00"))).thenReturn(toCard);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         Transaction result = transactionService.transferBetweenOwnCards(1L, 1L, 2L, amount, description);
@@ -107,9 +117,9 @@ class TransactionServiceImplTest {
 
         verify(cardService, times(1)).getCardByIdAndOwner(1L, 1L);
         verify(cardService, times(1)).getCardByIdAndOwner(2L, 1L);
-        verify(cardService, times(1)).updateCardBalance(1L, new BigDecimal("900.00"));
-        verify(cardService, times(1)).updateCardBalance(2L, new BigDecimal("600.00"));
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(ledgerService, times(1)).recordTransfer(result);
+        verify(outboxService, times(1)).recordTransferCompleted(result);
     }
 
     @DisplayName("transferBetweenOwnCards Должен выбросить исключение при переводе между разными пользователями")
@@ -127,7 +137,7 @@ class TransactionServiceImplTest {
 
         verify(cardService, times(1)).getCardByIdAndOwner(1L, 1L);
         verify(cardService, times(1)).getCardByIdAndOwner(2L, 1L);
-        verify(cardService, never()).updateCardBalance(anyLong(), any());
+        verify(ledgerService, never()).recordTransfer(any());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -142,7 +152,7 @@ class TransactionServiceImplTest {
                 .isInstanceOf(UnauthorizedTransferException.class);
 
         verify(cardService, times(2)).getCardByIdAndOwner(1L, 1L);
-        verify(cardService, never()).updateCardBalance(anyLong(), any());
+        verify(ledgerService, never()).recordTransfer(any());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -161,7 +171,7 @@ class TransactionServiceImplTest {
 
         verify(cardService, times(1)).getCardByIdAndOwner(1L, 1L);
         verify(cardService, times(1)).getCardByIdAndOwner(2L, 1L);
-        verify(cardService, never()).updateCardBalance(anyLong(), any());
+        verify(ledgerService, never()).recordTransfer(any());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -179,7 +189,7 @@ class TransactionServiceImplTest {
 
         verify(cardService, times(1)).getCardByIdAndOwner(1L, 1L);
         verify(cardService, times(1)).getCardByIdAndOwner(2L, 1L);
-        verify(cardService, never()).updateCardBalance(anyLong(), any());
+        verify(ledgerService, never()).recordTransfer(any());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -197,7 +207,7 @@ class TransactionServiceImplTest {
 
         verify(cardService, times(1)).getCardByIdAndOwner(1L, 1L);
         verify(cardService, times(1)).getCardByIdAndOwner(2L, 1L);
-        verify(cardService, never()).updateCardBalance(anyLong(), any());
+        verify(ledgerService, never()).recordTransfer(any());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -213,49 +223,118 @@ class TransactionServiceImplTest {
 
         verify(cardService, times(1)).getCardByIdAndOwner(1L, 1L);
         verify(cardService, times(1)).getCardByIdAndOwner(2L, 1L);
-        verify(cardService, never()).updateCardBalance(anyLong(), any());
+        verify(ledgerService, never()).recordTransfer(any());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @DisplayName("createPendingTransfer Должен сохранить перевод в PENDING без движения средств")
+    @Test
+    void createPendingTransfer_ShouldSavePendingWithoutLedger() {
+        when(cardService.getCardByIdAndOwner(1L, 1L)).thenReturn(fromCard);
+        when(cardService.getCardByIdAndOwner(2L, 1L)).thenReturn(toCard);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Transaction result = transactionService.createPendingTransfer(1L, 1L, 2L, new BigDecimal("100.00"), "Test");
+
+        assertThat(result.getStatus()).isEqualTo(TransactionStatus.PENDING);
+        verify(ledgerService, never()).recordTransfer(any());
+    }
+
+    @DisplayName("completePendingTransfer Должен провести перевод и поставить COMPLETED")
+    @Test
+    void completePendingTransfer_ShouldRecordAndComplete() {
+        transaction.setStatus(TransactionStatus.PENDING);
+        when(transactionRepository.findForUpdateById(1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.completePendingTransfer(1L);
+
+        assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        verify(ledgerService, times(1)).recordTransfer(transaction);
+        verify(outboxService, times(1)).recordTransferCompleted(transaction);
+    }
+
+    @DisplayName("completePendingTransfer Должен пропустить уже обработанный перевод")
+    @Test
+    void completePendingTransfer_WhenNotPending_ShouldSkip() {
+        when(transactionRepository.findForUpdateById(1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.completePendingTransfer(1L);
+
+        verify(ledgerService, never()).recordTransfer(any());
+    }
+
+    @DisplayName("completePendingTransfer Должен выбросить исключение, если карту заблокировали в ожидании")
+    @Test
+    void completePendingTransfer_WhenCardBlocked_ShouldThrowException() {
+        transaction.setStatus(TransactionStatus.PENDING);
+        toCard.setStatus(CardStatus.BLOCKED);
+        when(transactionRepository.findForUpdateById(1L)).thenReturn(Optional.of(transaction));
+
+        assertThatThrownBy(() -> transactionService.completePendingTransfer(1L))
+                .isInstanceOf(CardBlockedException.class);
+
+        verify(ledgerService, never()).recordTransfer(any());
+    }
+
+    @DisplayName("failPendingTransfer Должен поставить FAILED переводу в PENDING")
+    @Test
+    void failPendingTransfer_ShouldMarkFailed() {
+        transaction.setStatus(TransactionStatus.PENDING);
+        when(transactionRepository.findForUpdateById(1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.failPendingTransfer(1L);
+
+        assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.FAILED);
+    }
+
+    @DisplayName("getTransaction Должен выбросить исключение, если транзакция не найдена")
+    @Test
+    void getTransaction_WhenNotFound_ShouldThrowException() {
+        when(transactionRepository.findWithFromCardById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> transactionService.getTransaction(1L))
+                .isInstanceOf(TransactionNotFoundException.class);
+    }
+
     @DisplayName("getUserTransactions Должен вернуть страницу транзакций пользователя")
     @Test
     void getUserTransactions_ShouldReturnUserTransactionsPage() {
         Page<Transaction> transactionPage = new PageImpl<>(List.of(transaction), pageable, 1);
-        when(transactionRepository.findByUserId(1L, pageable)).thenReturn(transactionPage);
+        when(transactionRepository.findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable))).thenReturn(transactionPage);
 
-        Page<Transaction> result = transactionService.getUserTransactions(1L, pageable);
+        Page<Transaction> result = transactionService.getUserTransactions(1L, filter, pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isEqualTo(1);
         assertThat(result.getContent()).containsExactly(transaction);
-        verify(transactionRepository, times(1)).findByUserId(1L, pageable);
+        verify(transactionRepository, times(1)).findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable));
     }
 
     @DisplayName("getCardTransactions Должен вернуть страницу транзакций карты")
     @Test
     void getCardTransactions_ShouldReturnCardTransactionsPage() {
         Page<Transaction> transactionPage = new PageImpl<>(List.of(transaction), pageable, 1);
-        when(transactionRepository.findByCardId(1L, pageable)).thenReturn(transactionPage);
+        when(transactionRepository.findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable))).thenReturn(transactionPage);
 
-        Page<Transaction> result = transactionService.getCardTransactions(1L, pageable);
+        Page<Transaction> result = transactionService.getCardTransactions(1L, filter, pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isEqualTo(1);
         assertThat(result.getContent()).containsExactly(transaction);
-        verify(transactionRepository, times(1)).findByCardId(1L, pageable);
+        verify(transactionRepository, times(1)).findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable));
     }
 
     @DisplayName("getAllTransactions Должен вернуть страницу всех транзакций")
     @Test
     void getAllTransactions_ShouldReturnAllTransactionsPage() {
         Page<Transaction> transactionPage = new PageImpl<>(List.of(transaction), pageable, 1);
-        when(transactionRepository.findAll(pageable)).thenReturn(transactionPage);
+        when(transactionRepository.findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable))).thenReturn(transactionPage);
 
-        Page<Transaction> result = transactionService.getAllTransactions(pageable);
+        Page<Transaction> result = transactionService.getAllTransactions(filter, pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isEqualTo(1);
         assertThat(result.getContent()).containsExactly(transaction);
-        verify(transactionRepository, times(1)).findAll(pageable);
+        verify(transactionRepository, times(1)).findAll(ArgumentMatchers.<Specification<Transaction>>any(), eq(pageable));
     }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
 import java.util.List;
@@ -68,43 +69,45 @@ class UserServiceImplTest {
     @DisplayName("create Должен успешно создать пользователя")
     @Test
     void create_ShouldCreateUserSuccessfully() {
-        when(userRepository.existsByUsername("IVAN IVANOV")).thenReturn(false);
-        when(userRepository.existsByEmail("ivan@example.com")).thenReturn(false);
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
 
         User result = userService.create(user);
 
         assertThat(result).isNotNull().isEqualTo(user);
-        verify(userRepository, times(1)).existsByUsername("IVAN IVANOV");
-        verify(userRepository, times(1)).existsByEmail("ivan@example.com");
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
     }
 
     @DisplayName("create Должен выбросить исключение при существующем username")
     @Test
     void create_WhenUsernameExists_ShouldThrowException() {
-        when(userRepository.existsByUsername("IVAN IVANOV")).thenReturn(true);
+        when(userRepository.saveAndFlush(user)).thenThrow(uniqueViolation("users_username_key"));
 
         assertThatThrownBy(() -> userService.create(user))
                 .isInstanceOf(UsernameAlreadyExistsException.class);
 
-        verify(userRepository, times(1)).existsByUsername("IVAN IVANOV");
-        verify(userRepository, never()).existsByEmail(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(user);
     }
 
     @DisplayName("create Должен выбросить исключение при существующем email")
     @Test
     void create_WhenEmailExists_ShouldThrowException() {
-        when(userRepository.existsByUsername("IVAN IVANOV")).thenReturn(false);
-        when(userRepository.existsByEmail("ivan@example.com")).thenReturn(true);
+        when(userRepository.saveAndFlush(user)).thenThrow(uniqueViolation("users_email_key"));
 
         assertThatThrownBy(() -> userService.create(user))
                 .isInstanceOf(EmailAlreadyExistsException.class);
 
-        verify(userRepository, times(1)).existsByUsername("IVAN IVANOV");
-        verify(userRepository, times(1)).existsByEmail("ivan@example.com");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(user);
+    }
+
+    @DisplayName("create Должен пробросить исключение при нарушении другого ограничения")
+    @Test
+    void create_WhenOtherConstraintViolated_ShouldRethrow() {
+        when(userRepository.saveAndFlush(user)).thenThrow(uniqueViolation("users_pkey"));
+
+        assertThatThrownBy(() -> userService.create(user))
+                .isInstanceOf(DataIntegrityViolationException.class);
     }
 
     @DisplayName("updateUserStatus Должен успешно обновить статус пользователя")
@@ -226,4 +229,9 @@ class UserServiceImplTest {
         verify(cardRepository, times(1)).findByOwnerId(1L, pageable);
         verify(userRepository, never()).deleteById(anyLong());
     }
+
+    private DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement", new RuntimeException(
+                "ERROR: duplicate key value violates unique constraint \"" + constraintName + "\""));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.example.bankcards.util;
+
+import com.example.bankcards.exception.InvalidCardNumberException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты для утилиты номера карты")
+class CardNumberUtilTest {
+
+    private static final String LUHN_VALID_NUMBER = "4539578763621486";
+    private static final String LUHN_INVALID_NUMBER = "4539578763621487";
+
+    private CardNumberUtil cardNumberUtil;
+    private CardNumberUtil luhnCardNumberUtil;
+
+    @BeforeEach
+    void setUp() {
+        cardNumberUtil = new CardNumberUtil(new SecureRandomCardNumberGenerator());
+        luhnCardNumberUtil = new CardNumberUtil(new SecureRandomCardNumberGenerator());
+        ReflectionTestUtils.setField(luhnCardNumberUtil, "luhnCheck", true);
+    }
+
+    @DisplayName("validateCardNumber Должен принимать только 16 цифр")
+    @Test
+    void validateCardNumber_ShouldAcceptOnlySixteenDigits() {
+        assertThat(cardNumberUtil.validateCardNumber(LUHN_INVALID_NUMBER)).isTrue();
+        assertThat(cardNumberUtil.validateCardNumber(null)).isFalse();
+        assertThat(cardNumberUtil.validateCardNumber("453957876362148")).isFalse();
+        assertThat(cardNumberUtil.validateCardNumber("45395787636214861")).isFalse();
+        assertThat(cardNumberUtil.validateCardNumber("4539 57876362148")).isFalse();
+        assertThat(cardNumberUtil.validateCardNumber("453957876362148a")).isFalse();
+        assertThat(cardNumberUtil.validateCardNumber("４５３９５７８７６３６２１４８６")).isFalse();
+    }
+
+    @DisplayName("validateCardNumber Должен проверять контрольную сумму Луна, если она включена")
+    @Test
+    void validateCardNumber_WhenLuhnEnabled_ShouldCheckChecksum() {
+        assertThat(luhnCardNumberUtil.validateCardNumber(LUHN_VALID_NUMBER)).isTrue();
+        assertThat(luhnCardNumberUtil.validateCardNumber(LUHN_INVALID_NUMBER)).isFalse();
+    }
+
+    @DisplayName("generateCardNumber Должен выдавать номер с верной контрольной цифрой, если Луна включена")
+    @Test
+    void generateCardNumber_WhenLuhnEnabled_ShouldPassValidation() {
+        for (int i = 0; i < 1000; i++) {
+            assertThat(luhnCardNumberUtil.validateCardNumber(luhnCardNumberUtil.generateCardNumber())).isTrue();
+        }
+    }
+
+    @DisplayName("maskCardNumber Должен оставлять видимыми последние 4 цифры")
+    @Test
+    void maskCardNumber_ShouldKeepLastFourDigits() {
+        assertThat(cardNumberUtil.maskCardNumber(LUHN_VALID_NUMBER)).isEqualTo("**** **** **** 1486");
+    }
+
+    @DisplayName("maskCardNumber Должен выбросить исключение для неверного номера")
+    @Test
+    void maskCardNumber_WhenInvalid_ShouldThrowException() {
+        assertThatThrownBy(() -> cardNumberUtil.maskCardNumber("1234"))
+                .isInstanceOf(InvalidCardNumberException.class);
+        assertThatThrownBy(() -> luhnCardNumberUtil.maskCardNumber(LUHN_INVALID_NUMBER))
+                .isInstanceOf(InvalidCardNumberException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты для генератора цифр номера карты")
+class SecureRandomCardNumberGeneratorTest {
+
+    private final SecureRandomCardNumberGenerator generator = new SecureRandomCardNumberGenerator();
+
+    @DisplayName("fillDigits Должен заполнить только указанное количество цифр")
+    @Test
+    void fillDigits_ShouldFillRequestedLength() {
+        char[] digits = new char[16];
+        digits[15] = 'x';
+
+        generator.fillDigits(digits, 15);
+
+        assertThat(new String(digits, 0, 15)).matches("\\d{15}");
+        assertThat(digits[15]).isEqualTo('x');
+    }
+
+    @DisplayName("fillDigits Должен давать примерно равномерное распределение цифр в каждой позиции")
+    @Test
+    void fillDigits_ShouldBeUniformPerPosition() {
+        int samples = 20_000;
+        int[][] counts = new int[16][10];
+        char[] digits = new char[16];
+        for (int i = 0; i < samples; i++) {
+            generator.fillDigits(digits, 16);
+            for (int position = 0; position < 16; position++) {
+                counts[position][digits[position] - '0']++;
+            }
+        }
+
+        for (int[] position : counts) {
+            for (int count : position) {
+                assertThat(count).isBetween(samples / 10 - 400, samples / 10 + 400);
+            }
+        }
+    }
+
+    @DisplayName("fillDigits Должен работать из многих потоков без повторов")
+    @Test
+    void fillDigits_WhenConcurrent_ShouldProduceDistinctNumbers() throws Exception {
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int task = 0; task < 8; task++) {
+                futures.add(executor.submit(() -> {
+                    char[] digits = new char[16];
+                    for (int i = 0; i < 5_000; i++) {
+                        generator.fillDigits(digits, 16);
+                        numbers.add(new String(digits));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(numbers).hasSize(40_000).allMatch(number -> number.matches("\\d{16}"));
+    }
+}